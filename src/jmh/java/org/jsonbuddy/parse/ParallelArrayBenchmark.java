@@ -0,0 +1,59 @@
+package org.jsonbuddy.parse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.jsonbuddy.JsonNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares parsing a large top-level array of small objects in sequence
+ * and with {@link JsonParser#parseToArrayParallel(byte[])}. Run it with
+ * <code>-prof gc</code> to compare the allocations as well:
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=ParallelArrayBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelArrayBenchmark {
+
+    private static final int ELEMENTS = 200_000;
+
+    private byte[] bytes;
+
+    @Setup
+    public void createDocument() {
+        StringBuilder document = new StringBuilder("[");
+        for (int i = 0; i < ELEMENTS; i++) {
+            if (i > 0) {
+                document.append(',');
+            }
+            document.append("{\"id\":").append(i).append(",\"name\":\"user").append(i).append("\",\"active\":true}");
+        }
+        bytes = document.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsonNode sequential() {
+        return JsonParser.parse(bytes);
+    }
+
+    @Benchmark
+    public JsonNode parallel() {
+        return JsonParser.parseToArrayParallel(bytes);
+    }
+}
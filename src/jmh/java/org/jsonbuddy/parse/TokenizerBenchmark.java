@@ -0,0 +1,80 @@
+package org.jsonbuddy.parse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost per input character of tokenizing a document, with a
+ * handler that ignores the events so that building the tree is not included.
+ * Run it on two commits to compare them:
+ * <pre>
+ * mvn -P benchmark test-compile exec:exec -Dbenchmark=TokenizerBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(TokenizerBenchmark.SIZE)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark {
+
+    /** The length of the document, so the results are per character or byte */
+    static final int SIZE = 1 << 20;
+
+    private static final JsonHandler IGNORED = new JsonHandler() {};
+
+    @Param({"compact", "indented"})
+    private String layout;
+
+    private String text;
+    private byte[] bytes;
+
+    @Setup
+    public void createDocument() {
+        boolean indented = layout.equals("indented");
+        String newline = indented ? "\n    " : "";
+        String space = indented ? " " : "";
+        Random random = new Random(42);
+        StringBuilder document = new StringBuilder("[");
+        while (document.length() < SIZE - 200) {
+            document.append(newline).append("{")
+                    .append(newline).append(space).append("\"id\":").append(space).append(random.nextInt(100000)).append(",")
+                    .append(newline).append(space).append("\"name\":").append(space).append("\"user").append(random.nextInt(1000)).append("\",")
+                    .append(newline).append(space).append("\"score\":").append(space).append(random.nextDouble()).append(",")
+                    .append(newline).append(space).append("\"active\":").append(space).append(random.nextBoolean())
+                    .append(newline).append("},");
+        }
+        document.append("null");
+        while (document.length() < SIZE - 1) {
+            document.append(' ');
+        }
+        text = document.append("]").toString();
+        bytes = text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void characters() {
+        JsonParser.parse(text, IGNORED);
+    }
+
+    @Benchmark
+    public void utf8Bytes() {
+        JsonParser.parse(bytes, IGNORED);
+    }
+}
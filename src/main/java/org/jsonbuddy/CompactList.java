@@ -0,0 +1,248 @@
+package org.jsonbuddy;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+
+/**
+ * The storage of {@link JsonArray}. While all the elements are integers, or
+ * all are floating point numbers, they are stored in a long[] or double[], and
+ * a JsonNumber is only created when an element is requested. The first element
+ * of another type moves all the elements to a JsonNode[].
+ * After {@link #freeze()}, all changes throw UnsupportedOperationException.
+ */
+class CompactList extends AbstractList<JsonNode> implements RandomAccess {
+
+    private long[] longs;
+    private double[] doubles;
+    private JsonNode[] nodes;
+    private int size;
+    private boolean frozen;
+
+    CompactList() {
+    }
+
+    CompactList(Collection<? extends JsonNode> values) {
+        addAll(values);
+    }
+
+    static CompactList ofLongs(long[] values) {
+        CompactList list = new CompactList();
+        list.longs = values;
+        list.size = values.length;
+        return list;
+    }
+
+    static CompactList ofDoubles(double[] values) {
+        CompactList list = new CompactList();
+        list.doubles = values;
+        list.size = values.length;
+        return list;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Prevents all later changes. Must be called before the list is shared
+     */
+    void freeze() {
+        frozen = true;
+    }
+
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    /**
+     * Returns a changeable copy where all elements are frozen. Primitive
+     * storage is copied directly, and frozen elements are shared.
+     */
+    CompactList frozenElements() {
+        CompactList copy = new CompactList();
+        if (longs != null) {
+            copy.longs = Arrays.copyOf(longs, size);
+        } else if (doubles != null) {
+            copy.doubles = Arrays.copyOf(doubles, size);
+        } else if (nodes != null) {
+            copy.nodes = new JsonNode[size];
+            for (int i = 0; i < size; i++) {
+                copy.nodes[i] = nodes[i].freeze();
+            }
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    @Override
+    public JsonNode get(int index) {
+        checkIndex(index, size);
+        if (longs != null) {
+            return JsonFactory.jsonLong(longs[index]);
+        } else if (doubles != null) {
+            return JsonFactory.jsonDouble(doubles[index]);
+        }
+        return nodes[index];
+    }
+
+    @Override
+    public JsonNode set(int index, JsonNode value) {
+        checkNotFrozen();
+        JsonNode old = get(index);
+        if (longs != null && value instanceof JsonLong) {
+            longs[index] = ((JsonLong) value).longValue();
+        } else if (doubles != null && value instanceof JsonDouble) {
+            doubles[index] = ((JsonDouble) value).doubleValue();
+        } else {
+            storeAsNodes();
+            nodes[index] = value;
+        }
+        return old;
+    }
+
+    @Override
+    public void add(int index, JsonNode value) {
+        checkNotFrozen();
+        checkIndex(index, size + 1);
+        if (size == 0) {
+            longs = null;
+            doubles = null;
+            nodes = null;
+        }
+        if ((size == 0 || longs != null) && value instanceof JsonLong) {
+            longs = insertSpace(longs == null ? new long[4] : longs, index);
+            longs[index] = ((JsonLong) value).longValue();
+        } else if ((size == 0 || doubles != null) && value instanceof JsonDouble) {
+            doubles = insertSpace(doubles == null ? new double[4] : doubles, index);
+            doubles[index] = ((JsonDouble) value).doubleValue();
+        } else {
+            storeAsNodes();
+            nodes = insertSpace(nodes == null ? new JsonNode[4] : nodes, index);
+            nodes[index] = value;
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public JsonNode remove(int index) {
+        checkNotFrozen();
+        JsonNode old = get(index);
+        Object array = longs != null ? longs : doubles != null ? doubles : nodes;
+        System.arraycopy(array, index + 1, array, index, size - index - 1);
+        size--;
+        if (nodes != null) {
+            nodes[size] = null;
+        }
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        checkNotFrozen();
+        longs = null;
+        doubles = null;
+        nodes = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns true if the elements are stored as primitive numbers
+     */
+    boolean isNumeric() {
+        return longs != null || doubles != null;
+    }
+
+    /**
+     * Returns the element at the position as a long. Only valid when {@link #isNumeric()}
+     */
+    long longValue(int index) {
+        checkIndex(index, size);
+        return longs != null ? longs[index] : (long) doubles[index];
+    }
+
+    /**
+     * Returns the element at the position as a double. Only valid when {@link #isNumeric()}
+     */
+    double doubleValue(int index) {
+        checkIndex(index, size);
+        return longs != null ? longs[index] : doubles[index];
+    }
+
+    /**
+     * Returns the elements as longs. Only valid when {@link #isNumeric()}
+     */
+    LongStream longStream() {
+        return longs != null ? Arrays.stream(longs, 0, size) : Arrays.stream(doubles, 0, size).mapToLong(d -> (long) d);
+    }
+
+    /**
+     * Returns the elements as doubles. Only valid when {@link #isNumeric()}
+     */
+    DoubleStream doubleStream() {
+        return doubles != null ? Arrays.stream(doubles, 0, size) : Arrays.stream(longs, 0, size).asDoubleStream();
+    }
+
+    private void storeAsNodes() {
+        if (nodes != null || size == 0) {
+            return;
+        }
+        JsonNode[] values = new JsonNode[grownCapacity()];
+        for (int i = 0; i < size; i++) {
+            values[i] = get(i);
+        }
+        longs = null;
+        doubles = null;
+        nodes = values;
+    }
+
+    /**
+     * Makes room for one more element at the index, growing the array if it is full
+     */
+    private long[] insertSpace(long[] array, int index) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, grownCapacity());
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        return array;
+    }
+
+    private double[] insertSpace(double[] array, int index) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, grownCapacity());
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        return array;
+    }
+
+    private JsonNode[] insertSpace(JsonNode[] array, int index) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, grownCapacity());
+        }
+        System.arraycopy(array, index, array, index + 1, size - index);
+        return array;
+    }
+
+    private int grownCapacity() {
+        return Math.max(4, size + (size >> 1));
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("JsonArray is frozen");
+        }
+    }
+
+    private void checkIndex(int index, int limit) {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package org.jsonbuddy;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The storage of {@link JsonObject}: the keys and values in insertion order
+ * in two parallel arrays. Small objects are searched linearly. Objects with more
+ * than {@link #LINEAR_SCAN_LIMIT} keys also get an open addressing hash table of
+ * positions in the arrays. Unlike a LinkedHashMap, no object is kept per key.
+ * After {@link #freeze()}, all changes throw UnsupportedOperationException.
+ */
+class CompactMap extends AbstractMap<String, JsonNode> {
+
+    static final int LINEAR_SCAN_LIMIT = 8;
+
+    private static final String[] NO_KEYS = {};
+    private static final JsonNode[] NO_NODES = {};
+
+    private String[] keys;
+    private JsonNode[] nodes;
+    private int size;
+
+    /**
+     * Position + 1 of the key that hashes to each slot, or 0 for empty slots.
+     * Only used when there are more than {@link #LINEAR_SCAN_LIMIT} keys.
+     */
+    private int[] hashIndex;
+
+    private boolean frozen;
+
+    CompactMap() {
+        keys = NO_KEYS;
+        nodes = NO_NODES;
+    }
+
+    CompactMap(int capacity) {
+        keys = capacity == 0 ? NO_KEYS : new String[capacity];
+        nodes = capacity == 0 ? NO_NODES : new JsonNode[capacity];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Prevents all later changes. Must be called before the map is shared
+     */
+    void freeze() {
+        frozen = true;
+    }
+
+    boolean isFrozen() {
+        return frozen;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return positionOf(key) >= 0;
+    }
+
+    @Override
+    public JsonNode get(Object key) {
+        int position = positionOf(key);
+        return position < 0 ? null : nodes[position];
+    }
+
+    /**
+     * Replaces the value of an existing key in its position, or adds the key last
+     */
+    @Override
+    public JsonNode put(String key, JsonNode value) {
+        checkNotFrozen();
+        int position = positionOf(key);
+        if (position >= 0) {
+            JsonNode old = nodes[position];
+            nodes[position] = value;
+            return old;
+        }
+        if (size == keys.length) {
+            int capacity = Math.max(4, size + (size >> 1));
+            keys = Arrays.copyOf(keys, capacity);
+            nodes = Arrays.copyOf(nodes, capacity);
+        }
+        keys[size] = key;
+        nodes[size] = value;
+        size++;
+        if (hashIndex != null && size * 2 <= hashIndex.length) {
+            addToHashIndex(size - 1);
+        } else if (size > LINEAR_SCAN_LIMIT) {
+            rebuildHashIndex();
+        }
+        return null;
+    }
+
+    @Override
+    public JsonNode remove(Object key) {
+        int position = positionOf(key);
+        return position < 0 ? null : removeAt(position);
+    }
+
+    @Override
+    public void clear() {
+        checkNotFrozen();
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(nodes, 0, size, null);
+        size = 0;
+        hashIndex = null;
+    }
+
+    @Override
+    public Set<Entry<String, JsonNode>> entrySet() {
+        return new AbstractSet<Entry<String, JsonNode>>() {
+            @Override
+            public Iterator<Entry<String, JsonNode>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private int positionOf(Object key) {
+        if (hashIndex == null) {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(keys[i], key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+        int mask = hashIndex.length - 1;
+        for (int slot = hash(key) & mask; hashIndex[slot] != 0; slot = (slot + 1) & mask) {
+            if (Objects.equals(keys[hashIndex[slot] - 1], key)) {
+                return hashIndex[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private JsonNode removeAt(int position) {
+        checkNotFrozen();
+        JsonNode old = nodes[position];
+        System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+        System.arraycopy(nodes, position + 1, nodes, position, size - position - 1);
+        size--;
+        keys[size] = null;
+        nodes[size] = null;
+        if (hashIndex != null) {
+            if (size > LINEAR_SCAN_LIMIT) {
+                rebuildHashIndex();
+            } else {
+                hashIndex = null;
+            }
+        }
+        return old;
+    }
+
+    private void rebuildHashIndex() {
+        hashIndex = new int[Integer.highestOneBit(size) * 4];
+        for (int i = 0; i < size; i++) {
+            addToHashIndex(i);
+        }
+    }
+
+    private void addToHashIndex(int position) {
+        int mask = hashIndex.length - 1;
+        int slot = hash(keys[position]) & mask;
+        while (hashIndex[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        hashIndex[slot] = position + 1;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("JsonObject is frozen");
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private class EntryIterator implements Iterator<Entry<String, JsonNode>> {
+
+        private int next;
+        private int last = -1;
+        private int expectedSize = size;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Entry<String, JsonNode> next() {
+            if (expectedSize != size) {
+                throw new ConcurrentModificationException();
+            }
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new WriteThroughEntry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+            expectedSize = size;
+        }
+    }
+
+    private class WriteThroughEntry extends SimpleEntry<String, JsonNode> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int position;
+
+        WriteThroughEntry(int position) {
+            super(keys[position], nodes[position]);
+            this.position = position;
+        }
+
+        @Override
+        public JsonNode setValue(JsonNode value) {
+            checkNotFrozen();
+            nodes[position] = value;
+            return super.setValue(value);
+        }
+    }
+}
@@ -10,6 +10,9 @@ import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 /**
@@ -36,18 +39,33 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
      * Creates an empty JsonArray
      */
     public JsonArray() {
-        values = new ArrayList<>();
+        values = new CompactList();
     }
 
-    private JsonArray(List<? extends JsonNode> nodes) {
-        this.values = new ArrayList<>(nodes);
+    JsonArray(List<JsonNode> values) {
+        this.values = values;
     }
 
     /**
      * Creates JsonArray with the nodes in the argument list
      */
     public static JsonArray fromNodeList(List<? extends JsonNode> nodes) {
-        return new JsonArray(nodes);
+        return new JsonArray(new CompactList(nodes));
+    }
+
+    /**
+     * Creates a JsonArray of integers, which are stored in a copy of the argument array
+     */
+    public static JsonArray fromLongs(long... values) {
+        return new JsonArray(CompactList.ofLongs(values.clone()));
+    }
+
+    /**
+     * Creates a JsonArray of floating point numbers, which are stored in a copy
+     * of the argument array
+     */
+    public static JsonArray fromDoubles(double... values) {
+        return new JsonArray(CompactList.ofDoubles(values.clone()));
     }
 
     /**
@@ -73,14 +91,14 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
         if (nodes == null) {
             return new JsonArray();
         }
-        return new JsonArray(nodes.stream().map(JsonString::new).collect(Collectors.toList()));
+        return fromNodeList(nodes.stream().map(JsonString::new).collect(Collectors.toList()));
     }
 
     /**
      * Collects the argument stream into a JsonArray with Strings
      */
     public static JsonArray fromStringStream(Stream<String> nodes) {
-        return new JsonArray(nodes.map(JsonString::new).collect(Collectors.toList()));
+        return fromNodeList(nodes.map(JsonString::new).collect(Collectors.toList()));
     }
 
     /**
@@ -124,6 +142,32 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
         return values.stream();
     }
 
+    /**
+     * Returns the members of this JsonArray as longs. Arrays of numbers are
+     * read directly from their primitive storage.
+     *
+     * @throws JsonConversionException if a member is not numeric
+     */
+    public LongStream longStream() throws JsonConversionException {
+        if (values instanceof CompactList && ((CompactList) values).isNumeric()) {
+            return ((CompactList) values).longStream();
+        }
+        return IntStream.range(0, size()).mapToLong(this::requiredLong);
+    }
+
+    /**
+     * Returns the members of this JsonArray as doubles. Arrays of numbers are
+     * read directly from their primitive storage.
+     *
+     * @throws JsonConversionException if a member is not numeric
+     */
+    public DoubleStream doubleStream() throws JsonConversionException {
+        if (values instanceof CompactList && ((CompactList) values).isNumeric()) {
+            return ((CompactList) values).doubleStream();
+        }
+        return IntStream.range(0, size()).mapToDouble(this::requiredDouble);
+    }
+
     /**
      * Returns a stream of json nodes. Children that are not JsonNode are skipped
      * @return The jsonObject stream
@@ -164,11 +208,83 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
     }
 
     /**
-     * Creates a copy of this JsonArray with all the values copied
+     * Creates a copy of this JsonArray with all the values copied.
+     * A frozen JsonArray can not change, so it returns itself.
      */
     @Override
     public JsonArray deepClone() {
-        return new JsonArray(mapNodes(JsonNode::deepClone));
+        if (isFrozen()) {
+            return this;
+        }
+        return new JsonArray(new CompactList(mapNodes(JsonNode::deepClone)));
+    }
+
+    /**
+     * Returns a deeply immutable copy of this JsonArray, or this array if
+     * it is already frozen. Frozen elements are shared rather than copied.
+     * Changing a frozen JsonArray throws UnsupportedOperationException, and
+     * it can be shared between threads without synchronization.
+     */
+    @Override
+    public JsonArray freeze() {
+        if (isFrozen()) {
+            return this;
+        }
+        return frozen(frozenElements());
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return values instanceof CompactList && ((CompactList) values).isFrozen();
+    }
+
+    /**
+     * Returns a frozen copy of this JsonArray with the argument value at the
+     * position. This array is left unchanged. Frozen elements are shared with
+     * the copy, and the other elements are frozen deep copies.
+     *
+     * @throws IllegalArgumentException if the value cannot be represented as JSON
+     */
+    public JsonArray with(int pos, Object value) {
+        checkPosition(pos);
+        CompactList elements = frozenElements();
+        elements.set(pos, JsonFactory.jsonNode(value).freeze());
+        return frozen(elements);
+    }
+
+    /**
+     * Returns a frozen copy of this JsonArray with the argument value appended.
+     * This array is left unchanged. Frozen elements are shared with the copy,
+     * and the other elements are frozen deep copies.
+     *
+     * @throws IllegalArgumentException if the value cannot be represented as JSON
+     */
+    public JsonArray withAdded(Object value) {
+        CompactList elements = frozenElements();
+        elements.add(JsonFactory.jsonNode(value).freeze());
+        return frozen(elements);
+    }
+
+    /**
+     * Returns a frozen copy of this JsonArray without the element at the position.
+     * This array is left unchanged. Frozen elements are shared with the copy,
+     * and the other elements are frozen deep copies.
+     */
+    public JsonArray without(int pos) {
+        checkPosition(pos);
+        CompactList elements = frozenElements();
+        elements.remove(pos);
+        return frozen(elements);
+    }
+
+    private CompactList frozenElements() {
+        CompactList elements = values instanceof CompactList ? (CompactList) values : new CompactList(values);
+        return elements.frozenElements();
+    }
+
+    private static JsonArray frozen(CompactList elements) {
+        elements.freeze();
+        return new JsonArray(elements);
     }
 
     /**
@@ -227,6 +343,10 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
      * @throws JsonConversionException if the value at the position is not numeric
      */
     public long requiredLong(int pos) throws JsonConversionException {
+        if (values instanceof CompactList && ((CompactList) values).isNumeric()) {
+            checkPosition(pos);
+            return ((CompactList) values).longValue(pos);
+        }
         return requiredNumber(pos).longValue();
     }
 
@@ -236,6 +356,10 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
      * @throws JsonConversionException if the value at the position is not numeric
      */
     public double requiredDouble(int pos) throws JsonConversionException {
+        if (values instanceof CompactList && ((CompactList) values).isNumeric()) {
+            checkPosition(pos);
+            return ((CompactList) values).doubleValue(pos);
+        }
         return requiredNumber(pos).doubleValue();
     }
 
@@ -307,10 +431,14 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
     }
 
     private JsonNode get(int pos) throws JsonValueNotPresentException {
+        checkPosition(pos);
+        return values.get(pos);
+    }
+
+    private void checkPosition(int pos) throws JsonValueNotPresentException {
         if (pos < 0 || pos >= size()) {
             throw new JsonValueNotPresentException("Json array does not have a value at position " + pos);
         }
-        return values.get(pos);
     }
 
     /**
@@ -374,7 +502,7 @@ public class JsonArray extends JsonNode implements Iterable<JsonNode> {
      *         fromIndex &gt; toIndex</tt>)
      */
     public JsonArray subList(int fromIndex, int toIndex) {
-        return new JsonArray(values.subList(fromIndex, toIndex));
+        return new JsonArray(new CompactList(values.subList(fromIndex, toIndex)));
     }
 
 
@@ -0,0 +1,67 @@
+package org.jsonbuddy;
+
+/**
+ * A JsonNumber with a floating point value, stored as a primitive double.
+ * The value is only boxed when {@link #javaObjectValue()} is called.
+ */
+final class JsonDouble extends JsonNumber {
+
+    private final double value;
+
+    JsonDouble(double value) {
+        this.value = value;
+    }
+
+    @Override
+    public String stringValue() {
+        return Double.toString(value);
+    }
+
+    @Override
+    public Number javaObjectValue() {
+        return value;
+    }
+
+    @Override
+    public long longValue() {
+        return (long) value;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value;
+    }
+
+    @Override
+    public byte byteValue() {
+        return (byte) value;
+    }
+
+    @Override
+    public short shortValue() {
+        return (short) value;
+    }
+
+    @Override
+    public float floatValue() {
+        return (float) value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof JsonDouble) {
+            return Double.doubleToLongBits(value) == Double.doubleToLongBits(((JsonDouble) o).value);
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 + Double.hashCode(value);
+    }
+}
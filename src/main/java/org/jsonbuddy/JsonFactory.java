@@ -4,6 +4,20 @@ import java.time.Instant;
 import java.util.List;
 
 public class JsonFactory {
+
+    private static final JsonBoolean TRUE = new JsonBoolean(true);
+    private static final JsonBoolean FALSE = new JsonBoolean(false);
+    private static final JsonNull NULL = new JsonNull();
+
+    private static final int SMALLEST_CACHED_NUMBER = -128;
+    private static final JsonLong[] SMALL_NUMBERS = new JsonLong[1024 - SMALLEST_CACHED_NUMBER];
+
+    static {
+        for (int i = 0; i < SMALL_NUMBERS.length; i++) {
+            SMALL_NUMBERS[i] = new JsonLong(i + SMALLEST_CACHED_NUMBER);
+        }
+    }
+
     public static JsonObject jsonObject() {
         return new JsonObject();
     }
@@ -17,19 +31,46 @@ public class JsonFactory {
     }
 
     public static JsonNumber jsonNumber(Number number) {
+        if (number instanceof Long) {
+            return jsonLong(number.longValue());
+        } else if (number instanceof Double) {
+            return jsonDouble(number.doubleValue());
+        }
         return new JsonNumber(number);
     }
 
+    /**
+     * Returns a JsonNumber for the long value, equal to <code>jsonNumber(Long.valueOf(number))</code>.
+     * Numbers from -128 to 1023 are shared instances.
+     */
+    public static JsonNumber jsonLong(long number) {
+        if (number >= SMALLEST_CACHED_NUMBER && number < SMALLEST_CACHED_NUMBER + SMALL_NUMBERS.length) {
+            return SMALL_NUMBERS[(int) number - SMALLEST_CACHED_NUMBER];
+        }
+        return new JsonLong(number);
+    }
+
+    /**
+     * Returns a JsonNumber for the double value, equal to <code>jsonNumber(Double.valueOf(number))</code>
+     */
+    public static JsonNumber jsonDouble(double number) {
+        return new JsonDouble(number);
+    }
+
     public static JsonBoolean jsonTrue() {
-        return new JsonBoolean(true);
+        return TRUE;
     }
 
     public static JsonBoolean jsonFalse() {
-        return new JsonBoolean(false);
+        return FALSE;
     }
 
     public static JsonBoolean jsonBoolean(boolean value) {
-        return new JsonBoolean(value);
+        return value ? TRUE : FALSE;
+    }
+
+    public static JsonNull jsonNull() {
+        return NULL;
     }
 
     public static JsonString jsonInstant(Instant instant) {
@@ -44,17 +85,17 @@ public class JsonFactory {
         } else if (o instanceof Instant) {
             return jsonInstant((Instant)o);
         } else if (o instanceof Boolean) {
-            return new JsonBoolean((Boolean)o);
+            return jsonBoolean((Boolean)o);
         } else if (o instanceof Integer) {
-            return new JsonNumber(((Integer)o).longValue());
+            return jsonLong(((Integer)o).longValue());
         } else if (o instanceof Number) {
-            return new JsonNumber((Number)o);
+            return jsonNumber((Number)o);
         } else if (o instanceof List) {
             return new JsonArray().addAll((List<String>)o);
         } else if (o instanceof Enum) {
             return new JsonString(o.toString());
         } else if (o == null) {
-            return new JsonNull();
+            return NULL;
         } else {
             throw new IllegalArgumentException("Invalid JsonNode class " + o);
         }
@@ -0,0 +1,62 @@
+package org.jsonbuddy;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes newline-delimited JSON (JSON Lines, NDJSON): each JsonNode is written
+ * as compact JSON followed by a newline. Errors from the underlying output
+ * are reported by {@link #checkError()}, like {@link PrintWriter}.
+ *
+ * @see org.jsonbuddy.parse.JsonLinesReader
+ */
+public class JsonLinesWriter implements Closeable, Flushable {
+
+    private final PrintWriter writer;
+
+    /**
+     * Writes UTF-8 encoded JSON lines to the OutputStream
+     */
+    public JsonLinesWriter(OutputStream outputStream) {
+        this(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    public JsonLinesWriter(Writer writer) {
+        this.writer = new PrintWriter(new BufferedWriter(writer));
+    }
+
+    /**
+     * Appends the node as a single line
+     */
+    public JsonLinesWriter write(JsonNode node) {
+        node.toJson(writer);
+        writer.write('\n');
+        return this;
+    }
+
+    /**
+     * Returns true if writing to the underlying output has failed
+     */
+    public boolean checkError() {
+        return writer.checkError();
+    }
+
+    @Override
+    public void flush() {
+        writer.flush();
+    }
+
+    /**
+     * Flushes and closes the underlying output
+     */
+    @Override
+    public void close() {
+        writer.close();
+    }
+}
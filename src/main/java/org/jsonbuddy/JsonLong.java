@@ -0,0 +1,69 @@
+package org.jsonbuddy;
+
+/**
+ * A JsonNumber with an integer value, stored as a primitive long.
+ * The value is only boxed when {@link #javaObjectValue()} is called.
+ */
+final class JsonLong extends JsonNumber {
+
+    private final long value;
+
+    JsonLong(long value) {
+        this.value = value;
+    }
+
+    @Override
+    public String stringValue() {
+        return Long.toString(value);
+    }
+
+    @Override
+    public Number javaObjectValue() {
+        return value;
+    }
+
+    @Override
+    public long longValue() {
+        return value;
+    }
+
+    @Override
+    public int intValue() {
+        return (int) value;
+    }
+
+    @Override
+    public byte byteValue() {
+        return (byte) value;
+    }
+
+    @Override
+    public short shortValue() {
+        return (short) value;
+    }
+
+    @Override
+    public float floatValue() {
+        return value;
+    }
+
+    @Override
+    public double doubleValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        } else if (o instanceof JsonLong) {
+            return value == ((JsonLong) o).value;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 + Long.hashCode(value);
+    }
+}
@@ -45,6 +45,22 @@ public abstract class JsonNode {
 
     public abstract JsonNode deepClone();
 
+    /**
+     * Returns a deeply immutable version of this node, which can be shared
+     * between threads without copying. Values are immutable already, so
+     * they return themselves.
+     */
+    public JsonNode freeze() {
+        return this;
+    }
+
+    /**
+     * Returns true if this node and all its members can not be changed
+     */
+    public boolean isFrozen() {
+        return true;
+    }
+
     /**
      * Check if this node is an array
      * @return true if this is a JsonArray, false otherwise
@@ -28,7 +28,7 @@ public class JsonNull extends JsonValue {
 
     @Override
     public boolean equals(Object obj) {
-        return (obj instanceof JsonNull);
+        return obj == this || obj instanceof JsonNull;
     }
 
     @Override
@@ -3,6 +3,12 @@ package org.jsonbuddy;
 import java.io.PrintWriter;
 import java.util.Objects;
 
+/**
+ * A JSON number. Long and Double values created by the parser or by
+ * {@link JsonFactory} are stored as primitives by subclasses, and other
+ * numbers as the Number object. Numbers are equal if their
+ * {@link #javaObjectValue()} is equal, so a long and a double are never equal.
+ */
 public class JsonNumber extends JsonValue {
 
     final private Number value;
@@ -14,6 +20,13 @@ public class JsonNumber extends JsonValue {
         this.value = value;
     }
 
+    /**
+     * Used by the subclasses that store the value as a primitive
+     */
+    JsonNumber() {
+        this.value = null;
+    }
+
     @Override
     public String stringValue() {
         return value.toString();
@@ -63,11 +76,11 @@ public class JsonNumber extends JsonValue {
         if (this == o) return true;
         if (!(o instanceof JsonNumber)) return false;
         JsonNumber jsonLong = (JsonNumber) o;
-        return Objects.equals(value, jsonLong.value);
+        return Objects.equals(javaObjectValue(), jsonLong.javaObjectValue());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return Objects.hash(javaObjectValue());
     }
 }
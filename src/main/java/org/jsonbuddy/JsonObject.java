@@ -3,16 +3,15 @@ package org.jsonbuddy;
 import java.io.PrintWriter;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
-import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
+
+import org.jsonbuddy.parse.NodeStorage;
 
 /**
  * JsonObject represents a dictionary of values that can be looked up
@@ -39,16 +38,20 @@ import java.util.stream.Collectors;
  */
 public class JsonObject extends JsonNode {
 
+    static {
+        NodeStorage.install(new ParserNodeStorage());
+    }
+
     private final Map<String,JsonNode> values;
 
     /**
      * Creates an empty JsonObject
      */
     public JsonObject() {
-        this.values = new LinkedHashMap<>();
+        this.values = new CompactMap();
     }
 
-    private JsonObject(Map<String,JsonNode> values) {
+    JsonObject(Map<String,JsonNode> values) {
         this.values = values;
     }
 
@@ -334,15 +337,70 @@ public class JsonObject extends JsonNode {
     }
 
     /**
-     * Creates a copy of this JsonObject with all the values copied
+     * Creates a copy of this JsonObject with all the values copied.
+     * A frozen JsonObject can not change, so it returns itself.
      */
     @Override
     public JsonObject deepClone() {
-        Map<String, JsonNode> cloned = values.entrySet().stream()
-                .collect(Collectors.toMap(entry -> entry.getKey(), entry -> entry.getValue().deepClone()));
-        Map<String, JsonNode> newValues = new HashMap<>();
-        newValues.putAll(cloned);
-        return new JsonObject(newValues);
+        if (isFrozen()) {
+            return this;
+        }
+        Map<String, JsonNode> cloned = new CompactMap(values.size());
+        values.forEach((key, value) -> cloned.put(key, value.deepClone()));
+        return new JsonObject(cloned);
+    }
+
+    /**
+     * Returns a deeply immutable copy of this JsonObject, or this object if
+     * it is already frozen. Frozen members are shared rather than copied.
+     * Changing a frozen JsonObject throws UnsupportedOperationException, and
+     * it can be shared between threads without synchronization.
+     */
+    @Override
+    public JsonObject freeze() {
+        if (isFrozen()) {
+            return this;
+        }
+        CompactMap frozen = frozenMembers();
+        frozen.freeze();
+        return new JsonObject(frozen);
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return values instanceof CompactMap && ((CompactMap) values).isFrozen();
+    }
+
+    /**
+     * Returns a frozen copy of this JsonObject where the key is associated with
+     * the argument value. This object is left unchanged. Frozen members are
+     * shared with the copy, and the other members are frozen deep copies.
+     *
+     * @throws IllegalArgumentException if the value cannot be represented as JSON
+     */
+    public JsonObject with(String key, Object value) {
+        CompactMap members = frozenMembers();
+        members.put(key, JsonFactory.jsonNode(value).freeze());
+        members.freeze();
+        return new JsonObject(members);
+    }
+
+    /**
+     * Returns a frozen copy of this JsonObject without the key. This object
+     * is left unchanged. Frozen members are shared with the copy, and the
+     * other members are frozen deep copies.
+     */
+    public JsonObject without(String key) {
+        CompactMap members = frozenMembers();
+        members.remove(key);
+        members.freeze();
+        return new JsonObject(members);
+    }
+
+    private CompactMap frozenMembers() {
+        CompactMap members = new CompactMap(values.size() + 1);
+        values.forEach((key, value) -> members.put(key, value.freeze()));
+        return members;
     }
 
     /**
@@ -0,0 +1,34 @@
+package org.jsonbuddy;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.jsonbuddy.parse.NodeStorage;
+
+/**
+ * Gives the parser package access to the storage constructors of
+ * {@link JsonObject} and {@link JsonArray}, and to their compact storage
+ */
+class ParserNodeStorage extends NodeStorage {
+
+    @Override
+    protected JsonObject object(Map<String, JsonNode> values) {
+        return new JsonObject(values);
+    }
+
+    @Override
+    protected JsonArray array(List<JsonNode> values) {
+        return new JsonArray(values);
+    }
+
+    @Override
+    protected Map<String, JsonNode> map(int capacity) {
+        return new CompactMap(capacity);
+    }
+
+    @Override
+    protected List<JsonNode> list(Collection<? extends JsonNode> elements) {
+        return new CompactList(elements);
+    }
+}
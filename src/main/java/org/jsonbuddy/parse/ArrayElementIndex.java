@@ -0,0 +1,58 @@
+package org.jsonbuddy.parse;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.jsonbuddy.JsonNode;
+
+/**
+ * The positions of the elements of a top-level JSON array in UTF-8 encoded
+ * input, found by the quick structural scan of {@link StructuralIndex}.
+ * Each element can then be parsed separately, for example in parallel.
+ */
+class ArrayElementIndex {
+
+    /** Enough chunks to balance elements of different size between the workers */
+    private static final int CHUNKS_PER_PROCESSOR = 4;
+
+    private final StructuralIndex index;
+
+    private ArrayElementIndex(StructuralIndex index) {
+        this.index = index;
+    }
+
+    /**
+     * Finds the elements of the array in the remaining bytes of the input
+     *
+     * @throws JsonParseException if the input is not an array or the array is not closed
+     */
+    static ArrayElementIndex scan(ByteBuffer input) throws JsonParseException {
+        int position = StructuralIndex.skipWhitespace(input, input.position(), input.limit());
+        if (position >= input.limit() || input.get(position) != '[') {
+            throw new JsonParseException("Expected json array");
+        }
+        return new ArrayElementIndex(StructuralIndex.indexArray(input, position + 1, input.limit()));
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns a parallel Stream that parses the elements as it is processed.
+     * The elements are split into a few contiguous chunks per processor, and
+     * each chunk is parsed in sequence with one tokenizer.
+     */
+    Stream<JsonNode> parallelStream() {
+        int chunks = Math.min(size(), Runtime.getRuntime().availableProcessors() * CHUNKS_PER_PROCESSOR);
+        if (chunks == 0) {
+            return Stream.<JsonNode>empty().parallel();
+        }
+        int chunkSize = (size() + chunks - 1) / chunks;
+        return IntStream.range(0, (size() + chunkSize - 1) / chunkSize).parallel()
+                .mapToObj(chunk -> index.parseElements(chunk * chunkSize, Math.min(size(), (chunk + 1) * chunkSize)))
+                .flatMap(List::stream);
+    }
+}
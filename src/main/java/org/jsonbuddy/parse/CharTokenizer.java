@@ -0,0 +1,122 @@
+package org.jsonbuddy.parse;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizes characters from a Reader or a String through an internal
+ * char[] window which is refilled with bulk reads. The window is only
+ * refilled when more input is needed, so a value that has been parsed
+ * never waits for the input that follows it.
+ */
+class CharTokenizer extends JsonTokenizer {
+
+    static final int BUFFER_SIZE = 8192;
+
+    private Reader reader;
+    private String string;
+    private int stringPosition;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+
+    CharTokenizer(Reader reader) {
+        this(reader, BUFFER_SIZE);
+    }
+
+    CharTokenizer(Reader reader, int bufferSize) {
+        this.reader = reader;
+        this.buffer = new char[Math.max(1, Math.min(bufferSize, BUFFER_SIZE))];
+    }
+
+    /**
+     * Moves the tokenizer to a new Reader, keeping the buffer
+     */
+    void reset(Reader reader) {
+        this.reader = reader;
+        this.string = null;
+        restart();
+    }
+
+    /**
+     * Moves the tokenizer to a new String, which is copied into the buffer
+     * directly instead of through a Reader
+     */
+    void reset(String input) {
+        this.reader = null;
+        this.string = input;
+        this.stringPosition = 0;
+        restart();
+    }
+
+    private void restart() {
+        position = limit = 0;
+        endOfInput = false;
+        resetInputCount();
+    }
+
+    /**
+     * Reads the next window of input into the buffer. When the input is
+     * exhausted, position == limit from then on.
+     *
+     * @return false if there is no more input
+     */
+    private boolean fill() {
+        if (endOfInput) {
+            return false;
+        }
+        if (string != null) {
+            int count = Math.min(buffer.length, string.length() - stringPosition);
+            string.getChars(stringPosition, stringPosition + count, buffer, 0);
+            stringPosition += count;
+            position = 0;
+            limit = count;
+            countInput(count);
+            endOfInput = count == 0;
+            return !endOfInput;
+        }
+        int read;
+        try {
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        position = 0;
+        limit = Math.max(read, 0);
+        countInput(limit);
+        endOfInput = read < 0;
+        return !endOfInput;
+    }
+
+    @Override
+    boolean finished() {
+        return position >= limit && !fill();
+    }
+
+    @Override
+    char current() {
+        return buffer[position];
+    }
+
+    @Override
+    void advance() {
+        position++;
+    }
+
+    @Override
+    protected void appendStringRun(StringBuilder target) {
+        while (true) {
+            int start = position;
+            while (position < limit && !CharacterClasses.endsStringRun(buffer[position])) {
+                position++;
+            }
+            target.append(buffer, start, position - start);
+            if (position < limit || target.length() > maxStringLength || finished()) {
+                return;
+            }
+        }
+    }
+}
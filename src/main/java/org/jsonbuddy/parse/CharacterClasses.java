@@ -0,0 +1,118 @@
+package org.jsonbuddy.parse;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Lookup tables that classify the ASCII characters of the JSON grammar, so
+ * the tokenizers can test a character with one array access. Characters outside
+ * ASCII are classified with the same methods of {@link Character} that the
+ * parser has always used, so the accepted input is unchanged.
+ */
+final class CharacterClasses {
+
+    private static final byte WHITESPACE = 1;
+    private static final byte DIGIT = 2;
+    private static final byte NUMBER = 4;
+    private static final byte NUMBER_END = 8;
+    private static final byte STRING_END = 16;
+
+    private static final byte[] CLASSES = new byte[128];
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long QUOTES = ONES * '"';
+    private static final long BACKSLASHES = ONES * '\\';
+
+    static {
+        for (char c = 0; c < CLASSES.length; c++) {
+            if (Character.isWhitespace(c)) {
+                CLASSES[c] |= WHITESPACE;
+            }
+            if (c >= '0' && c <= '9') {
+                CLASSES[c] |= DIGIT | NUMBER;
+            }
+            if (".eE+-".indexOf(c) >= 0) {
+                CLASSES[c] |= NUMBER;
+            }
+            if (Character.isSpaceChar(c) || "}],\n\r\t".indexOf(c) >= 0) {
+                CLASSES[c] |= NUMBER_END;
+            }
+            if (c == '"' || c == '\\') {
+                CLASSES[c] |= STRING_END;
+            }
+        }
+    }
+
+    private CharacterClasses() {
+    }
+
+    /**
+     * Returns true for the characters the parser skips between tokens
+     */
+    static boolean isWhitespace(char c) {
+        return c < 128 ? (CLASSES[c] & WHITESPACE) != 0 : Character.isWhitespace(c);
+    }
+
+    /**
+     * Returns true for characters that may start a number, together with '-'
+     */
+    static boolean isDigit(char c) {
+        return c < 128 ? (CLASSES[c] & DIGIT) != 0 : Character.isDigit(c);
+    }
+
+    /**
+     * Returns true for the characters that may be part of a number
+     */
+    static boolean isNumberCharacter(char c) {
+        return c < 128 && (CLASSES[c] & NUMBER) != 0;
+    }
+
+    /**
+     * Returns true for the characters that may follow a number: whitespace
+     * and the ends of members
+     */
+    static boolean endsNumber(char c) {
+        return c < 128 ? (CLASSES[c] & NUMBER_END) != 0 : Character.isSpaceChar(c);
+    }
+
+    /**
+     * Returns true for the characters that end a run of plain characters in
+     * a string: the closing quote and the start of an escape sequence
+     */
+    static boolean endsStringRun(char c) {
+        return c < 128 && (CLASSES[c] & STRING_END) != 0;
+    }
+
+    /**
+     * Like {@link #endsStringRun(char)} for a UTF-8 byte, where all bytes of
+     * multi-byte characters also end the run
+     */
+    static boolean endsStringRun(byte b) {
+        return b < 0 || (CLASSES[b] & STRING_END) != 0;
+    }
+
+    /**
+     * Returns the index of the first byte from position that ends a string
+     * run, or limit if there is none. Eight bytes are tested at a time by
+     * reading them as one little-endian long, so long strings are scanned
+     * without looking at each byte.
+     *
+     * @param words the input as a little-endian buffer, where index 0 is the start of the input
+     */
+    static int indexOfStringRunEnd(ByteBuffer words, int position, int limit) {
+        while (position + 8 <= limit) {
+            long word = words.getLong(position);
+            long quotes = word ^ QUOTES;
+            long backslashes = word ^ BACKSLASHES;
+            long found = ((quotes - ONES) & ~quotes | (backslashes - ONES) & ~backslashes | word) & HIGH_BITS;
+            if (found != 0) {
+                return position + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+            position += 8;
+        }
+        while (position < limit && !endsStringRun(words.get(position))) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -0,0 +1,120 @@
+package org.jsonbuddy.parse;
+
+import java.math.BigInteger;
+
+/**
+ * Converts a decimal significand and exponent to the nearest double without
+ * going through a String. Small values use exact floating point arithmetic,
+ * and other values use the Eisel-Lemire algorithm with a 128 bit
+ * approximation of the power of five. Returns NaN in the rare cases where the
+ * result cannot be decided, and the caller should use Double.parseDouble.
+ */
+class DoubleConversion {
+
+    private static final int SMALLEST_POWER_OF_TEN = -342;
+    private static final int LARGEST_POWER_OF_TEN = 308;
+    private static final int MANTISSA_BITS = 52;
+
+    private static final double[] EXACT_POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * The high and low 64 bits of 5^q, normalized so that the most
+     * significant bit is set. Negative powers are rounded up.
+     */
+    private static final long[] POWER_OF_FIVE_HIGH = new long[LARGEST_POWER_OF_TEN - SMALLEST_POWER_OF_TEN + 1];
+    private static final long[] POWER_OF_FIVE_LOW = new long[POWER_OF_FIVE_HIGH.length];
+
+    static {
+        BigInteger five = BigInteger.valueOf(5);
+        for (int q = SMALLEST_POWER_OF_TEN; q <= LARGEST_POWER_OF_TEN; q++) {
+            BigInteger power;
+            if (q < 0) {
+                BigInteger divisor = five.pow(-q);
+                int bits = divisor.bitLength();
+                int shift = (q >= -27) ? bits + 127 : 2 * bits + 128;
+                power = BigInteger.ONE.shiftLeft(shift).divide(divisor).add(BigInteger.ONE);
+            } else {
+                power = five.pow(q);
+            }
+            power = power.bitLength() > 128
+                    ? power.shiftRight(power.bitLength() - 128)
+                    : power.shiftLeft(128 - power.bitLength());
+            POWER_OF_FIVE_HIGH[q - SMALLEST_POWER_OF_TEN] = power.shiftRight(64).longValue();
+            POWER_OF_FIVE_LOW[q - SMALLEST_POWER_OF_TEN] = power.longValue();
+        }
+    }
+
+    /**
+     * Returns significand * 10^exponent as a double, or NaN if the value
+     * cannot be determined. The significand is an unsigned 64 bit value.
+     */
+    static double toDouble(boolean negative, long significand, int exponent) {
+        if (significand == 0) {
+            return negative ? -0.0 : 0.0;
+        }
+        if (-22 <= exponent && exponent <= 22 && Long.compareUnsigned(significand, 1L << 53) <= 0) {
+            double value = (double) significand;
+            value = (exponent < 0) ? value / EXACT_POWERS_OF_TEN[-exponent] : value * EXACT_POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        if (exponent < SMALLEST_POWER_OF_TEN || exponent > LARGEST_POWER_OF_TEN) {
+            return Double.NaN;
+        }
+
+        int leadingZeros = Long.numberOfLeadingZeros(significand);
+        long w = significand << leadingZeros;
+        int index = exponent - SMALLEST_POWER_OF_TEN;
+        long low = w * POWER_OF_FIVE_HIGH[index];
+        long high = multiplyHigh(w, POWER_OF_FIVE_HIGH[index]);
+        if ((high & 0x1FF) == 0x1FF) {
+            long secondHigh = multiplyHigh(w, POWER_OF_FIVE_LOW[index]);
+            low += secondHigh;
+            if (Long.compareUnsigned(secondHigh, low) > 0) {
+                high++;
+            }
+            if (low == -1L) {
+                return Double.NaN;
+            }
+        }
+
+        int upperBit = (int) (high >>> 63);
+        int shift = upperBit + 64 - MANTISSA_BITS - 3;
+        long mantissa = high >>> shift;
+        int power2 = (int) (((217706L * exponent) >> 16) + 63) + upperBit - leadingZeros + 1023;
+        if (power2 <= 0) {
+            return Double.NaN;
+        }
+        if (Long.compareUnsigned(low, 1) <= 0 && exponent >= -4 && exponent <= 23 && (mantissa & 3) == 1
+                && (mantissa << shift) == high) {
+            mantissa &= ~1L;
+        }
+        mantissa += (mantissa & 1);
+        mantissa >>>= 1;
+        if (mantissa >= (2L << MANTISSA_BITS)) {
+            mantissa = 1L << MANTISSA_BITS;
+            power2++;
+        }
+        mantissa &= ~(1L << MANTISSA_BITS);
+        if (power2 >= 0x7FF) {
+            return Double.NaN;
+        }
+        long bits = mantissa | ((long) power2 << MANTISSA_BITS) | (negative ? 1L << 63 : 0);
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * The high 64 bits of the unsigned 128 bit product of the arguments
+     */
+    private static long multiplyHigh(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+        long p01 = x0 * y1;
+        long middle = x1 * y0 + ((x0 * y0) >>> 32) + (p01 & 0xFFFFFFFFL);
+        return x1 * y1 + (middle >>> 32) + (p01 >>> 32);
+    }
+}
@@ -0,0 +1,196 @@
+package org.jsonbuddy.parse;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.jsonbuddy.JsonNode;
+
+/**
+ * Parses UTF-8 encoded JSON that arrives in chunks of any size, for example from
+ * non-blocking IO, without ever waiting for more input. Each top-level value is
+ * passed to the consumer as soon as its last byte has been fed. The input may
+ * contain several values separated by whitespace.
+ * <p>
+ * The parser keeps its state between chunks. Only the bytes of a token that is
+ * incomplete at the end of a chunk are kept until the next call to {@link #feed}.
+ * While such a token is a string or a number, or the input ends in whitespace,
+ * only the new bytes are checked for the end, so the parsing time depends on
+ * the size of the input and not on how it is split into chunks.
+ *
+ * <pre>
+ * JsonFeedParser parser = new JsonFeedParser(node -&gt; handle(node));
+ * parser.feed(firstChunk);
+ * parser.feed(secondChunk);
+ * parser.endOfInput();
+ * </pre>
+ */
+public class JsonFeedParser {
+
+    private final Consumer<JsonNode> consumer;
+    private final Utf8Tokenizer tokenizer = new Utf8Tokenizer(new byte[0], 0, 0);
+    private final JsonReader reader = new JsonReader(tokenizer);
+    private JsonTreeBuilder builder = new JsonTreeBuilder();
+    private byte[] pending = new byte[Utf8Tokenizer.BUFFER_SIZE];
+    private int pendingLength;
+    private boolean ended;
+
+    /**
+     * How far the pending bytes have been scanned for the end of an
+     * incomplete token, and whether that scan ended within a string
+     */
+    private int scanned;
+    private boolean inString;
+    private boolean escaped;
+    private boolean incompleteNumber;
+
+    /**
+     * Creates a parser that passes each complete top-level value to the consumer
+     */
+    public JsonFeedParser(Consumer<JsonNode> consumer) {
+        this.consumer = consumer;
+    }
+
+    /**
+     * Parses the remaining bytes of the buffer as far as possible. The position
+     * of the buffer is moved to its limit.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public void feed(ByteBuffer input) throws JsonParseException {
+        int length = input.remaining();
+        ensureCapacity(length);
+        input.get(pending, pendingLength, length);
+        pendingLength += length;
+        if (mayCompleteToken()) {
+            parsePending(false);
+        }
+    }
+
+    /**
+     * Parses length bytes from offset in the array as far as possible.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public void feed(byte[] input, int offset, int length) throws JsonParseException {
+        ensureCapacity(length);
+        System.arraycopy(input, offset, pending, pendingLength, length);
+        pendingLength += length;
+        if (mayCompleteToken()) {
+            parsePending(false);
+        }
+    }
+
+    /**
+     * Signals that there is no more input and completes the last value.
+     *
+     * @throws JsonParseException if the input ended within a value
+     */
+    public void endOfInput() throws JsonParseException {
+        ensureOpen();
+        ended = true;
+        parsePending(true);
+    }
+
+    private void ensureOpen() {
+        if (ended) {
+            throw new IllegalStateException("endOfInput() has already been called");
+        }
+    }
+
+    private void ensureCapacity(int length) {
+        ensureOpen();
+        if (pendingLength + length > pending.length) {
+            pending = Arrays.copyOf(pending, Math.max(pending.length * 2, pendingLength + length));
+        }
+    }
+
+    /**
+     * Scans the bytes that arrived since the last scan, and returns false if
+     * they can not complete the pending token: when they are all within a string
+     * that is still open, all number characters following an incomplete number,
+     * or all whitespace following pending whitespace.
+     */
+    private boolean mayCompleteToken() {
+        boolean wasInString = inString;
+        boolean afterWhitespace = scanned > 0 && !inString && isWhitespace(pending[scanned - 1]);
+        boolean onlyNumberCharacters = true;
+        boolean onlyWhitespace = true;
+        for (int i = scanned; i < pendingLength; i++) {
+            byte b = pending[i];
+            if (escaped) {
+                escaped = false;
+            } else if (inString) {
+                if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                    wasInString = false;
+                }
+            } else {
+                if (b == '"') {
+                    inString = true;
+                }
+                wasInString = false;
+                onlyNumberCharacters &= CharacterClasses.isNumberCharacter((char) b);
+                onlyWhitespace &= isWhitespace(b);
+            }
+        }
+        boolean hadPendingBytes = scanned > 0;
+        scanned = pendingLength;
+        if (!hadPendingBytes) {
+            return true;
+        }
+        return !(wasInString && inString) && !(incompleteNumber && onlyNumberCharacters)
+                && !(afterWhitespace && onlyWhitespace);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && CharacterClasses.isWhitespace((char) b);
+    }
+
+    /**
+     * Reads tokens until the pending bytes run out. A token that may be
+     * incomplete is undone and its bytes are kept for the next chunk.
+     */
+    private void parsePending(boolean endOfInput) {
+        tokenizer.reset(pending, 0, pendingLength);
+        incompleteNumber = false;
+        int consumed;
+        while (true) {
+            reader.mark();
+            consumed = tokenizer.position();
+            JsonToken token;
+            try {
+                token = reader.nextToken();
+            } catch (JsonParseException e) {
+                if (endOfInput || !tokenizer.finished()) {
+                    throw e;
+                }
+                reader.reset();
+                break;
+            }
+            if (token == null) {
+                reader.reset();
+                consumed = pendingLength;
+                break;
+            }
+            if (token == JsonToken.NUMBER && tokenizer.finished() && !endOfInput) {
+                reader.reset();
+                incompleteNumber = true;
+                break;
+            }
+            reader.emit(builder);
+            if (reader.depth() == 0 && token != JsonToken.START_OBJECT && token != JsonToken.START_ARRAY) {
+                consumer.accept(builder.result());
+                builder = new JsonTreeBuilder();
+                reader.nextDocument();
+            }
+        }
+        System.arraycopy(pending, consumed, pending, 0, pendingLength - consumed);
+        pendingLength -= consumed;
+        // The consumed bytes end on a token boundary, so the scan state at the end
+        // of the pending bytes is the same as if they had been scanned from there
+        scanned = pendingLength;
+    }
+}
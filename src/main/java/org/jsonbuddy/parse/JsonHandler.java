@@ -0,0 +1,63 @@
+package org.jsonbuddy.parse;
+
+import java.math.BigDecimal;
+
+/**
+ * Receives the structure and values of a JSON document as
+ * {@link JsonParser#parse(java.io.Reader, JsonHandler)} reads it, without any JsonNodes
+ * being built. Use this to compute aggregates, validate or pick out a few values
+ * of large documents.
+ * <p>
+ * Objects are reported as {@link #startObject()}, followed by {@link #key} and
+ * a value for each member and then {@link #endObject()}. Arrays are reported as
+ * {@link #startArray()}, the values and then {@link #endArray()}.
+ * All methods do nothing by default.
+ */
+public interface JsonHandler {
+
+    default void startObject() {
+    }
+
+    /**
+     * The key of the next value in the current object
+     */
+    default void key(String key) {
+    }
+
+    default void endObject() {
+    }
+
+    default void startArray() {
+    }
+
+    default void endArray() {
+    }
+
+    default void stringValue(String value) {
+    }
+
+    /**
+     * A number without fraction or exponent
+     */
+    default void longValue(long value) {
+    }
+
+    /**
+     * A number with fraction or exponent
+     */
+    default void doubleValue(double value) {
+    }
+
+    /**
+     * A number with too many digits to be represented as a long or a double
+     */
+    default void bigDecimalValue(BigDecimal value) {
+    }
+
+    default void booleanValue(boolean value) {
+    }
+
+    default void nullValue() {
+    }
+
+}
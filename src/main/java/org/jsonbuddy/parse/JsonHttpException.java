@@ -9,7 +9,7 @@ import java.net.HttpURLConnection;
 import org.jsonbuddy.JsonObject;
 
 /**
- * Signals that the HTTP endpoint returned a 4xx error code for a URL.
+ * Signals that the HTTP endpoint returned a 4xx or 5xx error code for a URL.
  * The exception contains the body of the HTTP response, parsed
  * as JSON if available.
  */
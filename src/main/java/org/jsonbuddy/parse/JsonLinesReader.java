@@ -0,0 +1,144 @@
+package org.jsonbuddy.parse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jsonbuddy.JsonNode;
+
+/**
+ * Reads newline-delimited JSON (JSON Lines, NDJSON), where each line of the
+ * input is a separate JSON value. The values are parsed one at a time as
+ * they are requested, reusing the same buffers for all lines, so files of
+ * any size can be processed with bounded memory. Blank lines are skipped.
+ *
+ * <pre>
+ * try (Stream&lt;JsonNode&gt; events = JsonLinesReader.stream(path)) {
+ *     events.filter(...).forEach(...);
+ * }
+ * </pre>
+ *
+ * @see org.jsonbuddy.JsonLinesWriter
+ */
+public class JsonLinesReader implements Iterator<JsonNode>, Closeable {
+
+    private final Closeable input;
+    private final JsonTokenizer tokenizer;
+    private final JsonParser parser;
+    private int line = 1;
+
+    /**
+     * Reads JSON lines from the UTF-8 encoded InputStream
+     */
+    public JsonLinesReader(InputStream inputStream) {
+        this(inputStream, new Utf8Tokenizer(inputStream));
+    }
+
+    public JsonLinesReader(Reader reader) {
+        this(reader, new CharTokenizer(reader));
+    }
+
+    private JsonLinesReader(Closeable input, JsonTokenizer tokenizer) {
+        this.input = input;
+        this.tokenizer = tokenizer;
+        this.parser = new JsonParser(tokenizer);
+    }
+
+    /**
+     * Returns a lazily parsed Stream of the JSON lines in the UTF-8 encoded
+     * InputStream. Closing the Stream closes the InputStream.
+     */
+    public static Stream<JsonNode> stream(InputStream inputStream) {
+        return new JsonLinesReader(inputStream).stream();
+    }
+
+    /**
+     * Returns a lazily parsed Stream of the JSON lines in the UTF-8 encoded
+     * file, which is memory mapped. The Stream must be closed to close the file.
+     *
+     * @throws IOException if the file could not be opened
+     */
+    public static Stream<JsonNode> stream(Path path) throws IOException {
+        MappedFileSource source = new MappedFileSource(path);
+        return new JsonLinesReader(source, new Utf8Tokenizer(source)).stream();
+    }
+
+    /**
+     * Returns a lazily parsed Stream of the remaining JSON lines.
+     * Closing the Stream closes this reader.
+     */
+    public Stream<JsonNode> stream() {
+        Spliterator<JsonNode> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Returns true if there are more non-blank lines
+     */
+    @Override
+    public boolean hasNext() {
+        while (!tokenizer.finished() && CharacterClasses.isWhitespace(tokenizer.current())) {
+            if (tokenizer.current() == '\n') {
+                line++;
+            }
+            tokenizer.advance();
+        }
+        return !tokenizer.finished();
+    }
+
+    /**
+     * Parses and returns the value of the next non-blank line.
+     *
+     * @throws JsonParseException if the line is not a single JSON value
+     */
+    @Override
+    public JsonNode next() throws JsonParseException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JsonNode value;
+        try {
+            value = parser.parseValue();
+        } catch (JsonParseException e) {
+            throw new JsonParseException(e.getMessage() + " on line " + line);
+        }
+        readEndOfLine();
+        return value;
+    }
+
+    private void readEndOfLine() {
+        while (!tokenizer.finished()) {
+            char c = tokenizer.current();
+            if (c == '\n') {
+                line++;
+                tokenizer.advance();
+                return;
+            }
+            if (!CharacterClasses.isWhitespace(c)) {
+                throw new JsonParseException("Expected end of line after value on line " + line);
+            }
+            tokenizer.advance();
+        }
+    }
+
+    /**
+     * Closes the underlying input
+     */
+    @Override
+    public void close() {
+        try {
+            input.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
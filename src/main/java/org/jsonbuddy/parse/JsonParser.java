@@ -2,31 +2,32 @@ package org.jsonbuddy.parse;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
-import java.math.BigDecimal;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.jsonbuddy.JsonArray;
-import org.jsonbuddy.JsonBoolean;
-import org.jsonbuddy.JsonFactory;
 import org.jsonbuddy.JsonNode;
-import org.jsonbuddy.JsonNull;
-import org.jsonbuddy.JsonNumber;
 import org.jsonbuddy.JsonObject;
-import org.jsonbuddy.JsonValue;
 
 /**
  * Create a JsonNode from an input Reader. Use {@link #parse} to parse any
  * primitive or complex JsonNode, {@link #parseToArray(Reader)} to parse a JsonArray
  * or {@link #parseToObject(Reader)} to parse a JsonObject.
+ * <p>
+ * Byte input (InputStream, byte[] and ByteBuffer) is read as UTF-8 and
+ * scanned directly, without first being decoded to characters.
  */
 public class JsonParser {
 
@@ -37,8 +38,7 @@ public class JsonParser {
      * @throws JsonParseException if a JSON syntax error was encountered
      */
     public static JsonNode parse(Reader reader) throws JsonParseException {
-        JsonParser jsonParser = new JsonParser(reader);
-        return jsonParser.parseValue();
+        return new JsonParser(new CharTokenizer(reader)).parseValue();
     }
 
     /**
@@ -48,20 +48,185 @@ public class JsonParser {
      * @throws JsonParseException if a JSON syntax error was encountered
      */
     public static JsonNode parse(String input) throws JsonParseException  {
-        return parse(new StringReader(input));
+        return new JsonParser(new CharTokenizer(new StringReader(input), input.length())).parseValue();
     }
 
 
     /**
-     * Parse the InputStream as a JsonNode. Will return a JsonArray, JsonArray
+     * Parse the UTF-8 encoded InputStream as a JsonNode. Will return a JsonArray, JsonArray
      * or a JsonValue.
      *
      * @throws JsonParseException if a JSON syntax error was encountered
      */
     public static JsonNode parse(InputStream inputStream) throws JsonParseException  {
-        return parse(new InputStreamReader(inputStream));
+        return new JsonParser(new Utf8Tokenizer(inputStream)).parseValue();
     }
 
+    /**
+     * Parse the UTF-8 encoded bytes as a JsonNode. Will return a JsonArray, JsonArray
+     * or a JsonValue.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(byte[] input) throws JsonParseException  {
+        return parse(input, 0, input.length);
+    }
+
+    /**
+     * Parse length UTF-8 encoded bytes from the offset of the array as a
+     * JsonNode. Will return a JsonArray, JsonArray or a JsonValue.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(byte[] input, int offset, int length) throws JsonParseException  {
+        return new JsonParser(new Utf8Tokenizer(input, offset, length)).parseValue();
+    }
+
+    /**
+     * Parse the remaining UTF-8 encoded bytes of the ByteBuffer as a JsonNode.
+     * The position of the ByteBuffer is not changed. Will return a JsonArray,
+     * JsonArray or a JsonValue.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(ByteBuffer input) throws JsonParseException  {
+        return new JsonParser(Utf8Tokenizer.of(input)).parseValue();
+    }
+
+
+    /**
+     * Parse the UTF-8 encoded file as a JsonNode. The file is memory mapped
+     * and scanned without reading it into a String first. Will return a
+     * JsonArray, JsonArray or a JsonValue.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     * @throws IOException if the file could not be read
+     */
+    public static JsonNode parse(Path path) throws JsonParseException, IOException {
+        try (MappedFileSource source = new MappedFileSource(path)) {
+            return new JsonParser(new Utf8Tokenizer(source)).parseValue();
+        }
+    }
+
+    /**
+     * Parse the reader as a JsonNode with the argument options
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(Reader reader, ParserOptions options) throws JsonParseException {
+        return new JsonParser(options.configure(new CharTokenizer(reader))).parseValue();
+    }
+
+    /**
+     * Parse the String as a JsonNode with the argument options
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(String input, ParserOptions options) throws JsonParseException {
+        return new JsonParser(options.configure(new CharTokenizer(new StringReader(input), input.length()))).parseValue();
+    }
+
+    /**
+     * Parse the UTF-8 encoded InputStream as a JsonNode with the argument options
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(InputStream inputStream, ParserOptions options) throws JsonParseException {
+        return new JsonParser(options.configure(new Utf8Tokenizer(inputStream))).parseValue();
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes as a JsonNode with the argument options
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(byte[] input, ParserOptions options) throws JsonParseException {
+        return new JsonParser(options.configure(new Utf8Tokenizer(input, 0, input.length))).parseValue();
+    }
+
+    /**
+     * Parse the Reader and report its structure and values to the handler
+     * without building any JsonNodes.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static void parse(Reader reader, JsonHandler handler) throws JsonParseException {
+        new JsonParser(new CharTokenizer(reader)).parseValue(handler);
+    }
+
+    /**
+     * Parse the String and report its structure and values to the handler
+     * without building any JsonNodes.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static void parse(String input, JsonHandler handler) throws JsonParseException {
+        new JsonParser(new CharTokenizer(new StringReader(input), input.length())).parseValue(handler);
+    }
+
+    /**
+     * Parse the UTF-8 encoded InputStream and report its structure and values
+     * to the handler without building any JsonNodes.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static void parse(InputStream inputStream, JsonHandler handler) throws JsonParseException {
+        new JsonParser(new Utf8Tokenizer(inputStream)).parseValue(handler);
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes and report their structure and values
+     * to the handler without building any JsonNodes.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static void parse(byte[] input, JsonHandler handler) throws JsonParseException {
+        new JsonParser(new Utf8Tokenizer(input, 0, input.length)).parseValue(handler);
+    }
+
+    /**
+     * Parse the reader as a JsonNode with only the values on the paths of
+     * the projection. Other values are skipped without being built.
+     *
+     * @return The pruned JsonNode or null if the document has no values on the paths
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(Reader reader, JsonProjection projection) throws JsonParseException {
+        return new JsonParser(new CharTokenizer(reader)).parseValue(projection);
+    }
+
+    /**
+     * Parse the String as a JsonNode with only the values on the paths of
+     * the projection. Other values are skipped without being built.
+     *
+     * @return The pruned JsonNode or null if the document has no values on the paths
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(String input, JsonProjection projection) throws JsonParseException {
+        return new JsonParser(new CharTokenizer(new StringReader(input), input.length())).parseValue(projection);
+    }
+
+    /**
+     * Parse the UTF-8 encoded InputStream as a JsonNode with only the values
+     * on the paths of the projection. Other values are skipped without being built.
+     *
+     * @return The pruned JsonNode or null if the document has no values on the paths
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(InputStream inputStream, JsonProjection projection) throws JsonParseException {
+        return new JsonParser(new Utf8Tokenizer(inputStream)).parseValue(projection);
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes as a JsonNode with only the values
+     * on the paths of the projection. Other values are skipped without being built.
+     *
+     * @return The pruned JsonNode or null if the document has no values on the paths
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public static JsonNode parse(byte[] input, JsonProjection projection) throws JsonParseException {
+        return new JsonParser(new Utf8Tokenizer(input, 0, input.length)).parseValue(projection);
+    }
 
     /**
      * Parse the String as a JsonObject
@@ -70,7 +235,7 @@ public class JsonParser {
      *             or if the JSON was not a JsonObject
      */
     public static JsonObject parseToObject(String input) throws JsonParseException  {
-        return parseToObject(new StringReader(input));
+        return toObject(parse(input));
     }
 
     /**
@@ -80,18 +245,38 @@ public class JsonParser {
      *             or if the JSON was not a JsonObject
      */
     public static JsonObject parseToObject(Reader reader) throws JsonParseException {
-        JsonParser jsonParser = new JsonParser(reader);
-        return toObject(jsonParser.parseValue());
+        return toObject(parse(reader));
     }
 
     /**
-     * Parse the InputStream as a JsonObject
+     * Parse the UTF-8 encoded InputStream as a JsonObject
      *
      * @throws JsonParseException if a JSON syntax error was encountered,
      *             or if the JSON was not a JsonObject
      */
     public static JsonObject parseToObject(InputStream inputStream) throws JsonParseException {
-        return parseToObject(new InputStreamReader(inputStream));
+        return toObject(parse(inputStream));
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes as a JsonObject
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered,
+     *             or if the JSON was not a JsonObject
+     */
+    public static JsonObject parseToObject(byte[] input) throws JsonParseException {
+        return toObject(parse(input));
+    }
+
+    /**
+     * Parse the UTF-8 encoded file as a JsonObject
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered,
+     *             or if the JSON was not a JsonObject
+     * @throws IOException if the file could not be read
+     */
+    public static JsonObject parseToObject(Path path) throws JsonParseException, IOException {
+        return toObject(parse(path));
     }
 
     /**
@@ -110,7 +295,7 @@ public class JsonParser {
      *
      * @throws JsonParseException if a JSON syntax error was encountered,
      *             or if the JSON was not a JsonObject
-     * @throws JsonHttpException if the endpoint returned a 4xx error
+     * @throws JsonHttpException if the endpoint returned a 4xx or 5xx error
      * @throws IOException if there was a communication error
      */
     public static JsonObject parseToObject(URLConnection connection) throws IOException {
@@ -124,8 +309,50 @@ public class JsonParser {
         }
     }
 
+    /**
+     * GET the contents of the url as a JSON object on a thread of the executor,
+     * without blocking the caller. This runs the blocking
+     * {@link #parseToObject(URLConnection)} on the executor, so each request in
+     * progress occupies one executor thread until the response has been read.
+     * The IO itself is not non-blocking. Size the executor for the number of
+     * concurrent requests, or use {@link JsonFeedParser} with a non-blocking
+     * HTTP client instead.
+     *
+     * @return a future that completes with the object, or exceptionally with the
+     *             exceptions of {@link #parseToObject(URLConnection)}
+     */
+    public static CompletableFuture<JsonObject> parseToObjectAsync(URL url, Executor executor) {
+        CompletableFuture<JsonObject> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(parseToObject(url.openConnection()));
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * GET the contents of the URLConnection as a JSON object on a thread of the
+     * executor, like {@link #parseToObjectAsync(URL, Executor)}, which also
+     * occupies one executor thread per request. The connection may be
+     * configured with headers and timeouts before it is passed.
+     */
+    public static CompletableFuture<JsonObject> parseToObjectAsync(URLConnection connection, Executor executor) {
+        CompletableFuture<JsonObject> result = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                result.complete(parseToObject(connection));
+            } catch (IOException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
 
-    private static JsonObject toObject(JsonNode result) {
+
+    static JsonObject toObject(JsonNode result) {
         if (!(result instanceof JsonObject)) {
             throw new JsonParseException("Expected json object got " + Optional.ofNullable(result).map(Object::getClass).map(Object::toString).orElse("null"));
         }
@@ -139,17 +366,27 @@ public class JsonParser {
      *             or if the JSON was not a JsonArray
      */
     public static JsonArray parseToArray(String input) throws JsonParseException  {
-        return parseToArray(new StringReader(input));
+        return toArray(parse(input));
     }
 
     /**
-     * Parse the InputStream as a JsonArray
+     * Parse the UTF-8 encoded InputStream as a JsonArray
      *
      * @throws JsonParseException if a JSON syntax error was encountered,
      *             or if the JSON was not a JsonArray
      */
     public static JsonArray parseToArray(InputStream inputStream) throws JsonParseException  {
-        return parseToArray(new InputStreamReader(inputStream));
+        return toArray(parse(inputStream));
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes as a JsonArray
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered,
+     *             or if the JSON was not a JsonArray
+     */
+    public static JsonArray parseToArray(byte[] input) throws JsonParseException  {
+        return toArray(parse(input));
     }
 
     /**
@@ -159,8 +396,88 @@ public class JsonParser {
      *             or if the JSON was not a JsonArray
      */
     public static JsonArray parseToArray(Reader reader) throws JsonParseException {
-        JsonParser jsonParser = new JsonParser(reader);
-        return toArray(jsonParser.parseValue());
+        return toArray(parse(reader));
+    }
+
+    /**
+     * Parse the UTF-8 encoded file as a JsonArray
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered,
+     *             or if the JSON was not a JsonArray
+     * @throws IOException if the file could not be read
+     */
+    public static JsonArray parseToArray(Path path) throws JsonParseException, IOException {
+        return toArray(parse(path));
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes as a JsonArray, parsing the elements
+     * in parallel on the common ForkJoinPool. A quick scan of the input finds
+     * the element boundaries first. Use this for huge top-level arrays.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered,
+     *             or if the JSON was not a JsonArray
+     */
+    public static JsonArray parseToArrayParallel(byte[] input) throws JsonParseException {
+        return parseToArrayParallel(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Parse the remaining UTF-8 encoded bytes of the ByteBuffer as a JsonArray,
+     * parsing the elements in parallel on the common ForkJoinPool. The buffer
+     * can be a memory mapped file. The position of the ByteBuffer is not changed.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered,
+     *             or if the JSON was not a JsonArray
+     */
+    public static JsonArray parseToArrayParallel(ByteBuffer input) throws JsonParseException {
+        return JsonArray.fromNodeList(parallelArrayStream(input).collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns a parallel Stream of the elements of the JSON array in the remaining
+     * UTF-8 encoded bytes of the ByteBuffer. The element boundaries are found
+     * before this method returns, while the elements are parsed as the Stream
+     * is processed. To use another ForkJoinPool than the common pool,
+     * run the terminal operation of the Stream in that pool.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     *             while parsing the elements, or if the JSON was not a JsonArray
+     */
+    public static Stream<JsonNode> parallelArrayStream(ByteBuffer input) throws JsonParseException {
+        return ArrayElementIndex.scan(input).parallelStream();
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes without decoding the values up front. A quick
+     * scan of the input builds an index of where each key and value is, and the
+     * returned JsonObject or JsonArray decodes values when they are accessed.
+     * Use this when only a few values of a large document are read.
+     * The array must not be modified while the result is in use. The result
+     * is not thread-safe, even for reading; use {@link JsonNode#freeze()} to
+     * get a copy that can be shared between threads.
+     *
+     * @return The JsonNode or null if the input is empty
+     * @throws JsonParseException if a JSON syntax error was encountered in the
+     *             structure of the top-level value. Syntax errors inside the
+     *             members are thrown when the members are accessed.
+     */
+    public static JsonNode parseLazy(byte[] input) throws JsonParseException {
+        return parseLazy(ByteBuffer.wrap(input));
+    }
+
+    /**
+     * Parse the remaining UTF-8 encoded bytes of the ByteBuffer without decoding
+     * the values up front, like {@link #parseLazy(byte[])}. The buffer can be a
+     * memory mapped file. The position of the ByteBuffer is not changed, and
+     * the content must not be modified while the result is in use.
+     *
+     * @return The JsonNode or null if the input is empty
+     * @throws JsonParseException if a JSON syntax error was encountered in the
+     *             structure of the top-level value
+     */
+    public static JsonNode parseLazy(ByteBuffer input) throws JsonParseException {
+        return StructuralIndex.parseLazy(input.duplicate());
     }
 
     /**
@@ -171,7 +488,7 @@ public class JsonParser {
      * @throws IllegalArgumentException if input not base64encoded
      */
     public static JsonNode parseFromBase64encodedString(String base64encodedJson) throws IllegalArgumentException {
-        return parse(new String(Base64.getUrlDecoder().decode(base64encodedJson)));
+        return parse(Base64.getUrlDecoder().decode(base64encodedJson));
     }
 
     private static JsonArray toArray(JsonNode result) {
@@ -182,227 +499,307 @@ public class JsonParser {
     }
 
 
-    private Reader reader;
-    private char lastRead;
-    private boolean finished;
+    private static final JsonHandler SKIPPED = new JsonHandler() { };
 
-    private JsonParser(Reader reader) {
-        this.reader = reader;
-        readNext();
+    private static final byte OBJECT = 0;
+    private static final byte ARRAY = 1;
+
+    private final JsonTokenizer tokenizer;
+    private byte[] containers = new byte[16];
+    private int[] entries = new int[16];
+    private int depth;
+
+    JsonParser(JsonTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
     }
 
-    private void readNext()  {
-        int read;
-        try {
-            read = reader.read();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-        if (read == -1) {
-            finished = true;
-            return;
-        }
-        this.lastRead = (char) read;
+    /**
+     * Parses the next value and returns it as a JsonNode, or null if
+     * the input has no more values.
+     */
+    JsonNode parseValue() {
+        JsonTreeBuilder builder = new JsonTreeBuilder(tokenizer.stringValueCache);
+        depth = 0;
+        parseValue(builder);
+        return builder.result();
     }
 
+    /**
+     * Parses the next value with only the values on the paths of the projection,
+     * and returns it as a JsonNode, or null if nothing was included
+     */
+    JsonNode parseValue(JsonProjection projection) {
+        JsonTreeBuilder builder = new JsonTreeBuilder(tokenizer.stringValueCache);
+        depth = 0;
+        tokenizer.skipWhitespace();
+        if (!tokenizer.finished()) {
+            parseProjectedValue(builder, projection, null);
+        }
+        return builder.result();
+    }
 
+    /**
+     * Parses the next value and reports it to the handler
+     *
+     * @return false if the input has no more values
+     */
+    boolean parseValue(JsonHandler handler) {
+        tokenizer.skipWhitespace();
+        if (tokenizer.finished()) {
+            return false;
+        }
+        parseNested(handler, false);
+        return true;
+    }
 
-    private JsonNode parseValue() {
-        while (!finished) {
-            switch (lastRead) {
-                case '{':
-                    return parseObject();
-                case '[':
-                    return parseArray();
-                case '"':
-                    return parseStringValue();
-                case 't':
-                case 'f':
-                    return parseBooleanValue();
-                case 'n':
-                    return parseNullValue();
+    /**
+     * Parses the value at the cursor with an explicit stack of the open objects
+     * and arrays instead of recursion, so the nesting is only limited by
+     * {@link JsonTokenizer#maxDepth}. When skipping, strings and keys are
+     * consumed without being decoded.
+     */
+    private void parseNested(JsonHandler handler, boolean skip) {
+        int base = depth;
+        boolean atValue = true;
+        while (true) {
+            if (atValue) {
+                char c = tokenizer.current();
+                if (c == '{') {
+                    handler.startObject();
+                    enterContainer(OBJECT);
+                    tokenizer.advance();
+                    atValue = nextKey(handler, skip);
+                    continue;
+                } else if (c == '[') {
+                    handler.startArray();
+                    enterContainer(ARRAY);
+                    tokenizer.advance();
+                    atValue = nextElement();
+                    continue;
+                } else if (c == '"' && skip) {
+                    tokenizer.advance();
+                    tokenizer.skipString();
+                } else {
+                    parseScalar(handler, c);
+                }
+                atValue = false;
             }
-            if (lastRead == '-' || Character.isDigit(lastRead)) {
-                return parseNumberValue();
+            if (depth == base) {
+                return;
             }
-            if (!(Character.isWhitespace(lastRead))) {
-                throw new JsonParseException("Unexpected character '" + lastRead + "'");
+            if (containers[depth - 1] == OBJECT) {
+                if (tokenizer.readSpaceUntil("JsonObject not closed. Expected }", ',', '}') == ',') {
+                    tokenizer.advance();
+                    atValue = nextKey(handler, skip);
+                } else {
+                    tokenizer.advance();
+                    depth--;
+                    handler.endObject();
+                }
+            } else {
+                if (tokenizer.readSpaceUntil("Expected , or ] in array", ']', ',') == ',') {
+                    tokenizer.advance();
+                    atValue = nextElement();
+                } else {
+                    tokenizer.advance();
+                    depth--;
+                    handler.endArray();
+                }
             }
-            readNext();
         }
-        return null;
     }
 
-
-    private JsonValue parseNumberValue() {
-        StringBuilder val = new StringBuilder();
-        boolean isDouble = false;
-        while (!finished && (Character.isDigit(lastRead) || ".eE-".contains("" + lastRead))) {
-            isDouble = isDouble || ".eE".contains("" + lastRead);
-            val.append(lastRead);
-            readNext();
+    /**
+     * Reads the next key of the current object and moves the cursor to its value
+     *
+     * @return false if the object ends, with the cursor at the closing }
+     */
+    private boolean nextKey(JsonHandler handler, boolean skip) {
+        if (tokenizer.readSpaceUntil("JsonObject not closed. Expected }", '}', '"') == '}') {
+            return false;
+        }
+        tokenizer.advance();
+        String key = null;
+        if (skip) {
+            tokenizer.skipString();
+        } else {
+            key = tokenizer.readKey();
         }
-        if (!finished && (!(Character.isSpaceChar(lastRead) || "}],".contains("" + lastRead))) && (!"\n\r\t".contains("" + lastRead))) {
-            throw new JsonParseException("Illegal value '" + val + lastRead + "'");
+        tokenizer.readSpaceUntil(key == null ? "Expected value for objectkey" : "Expected value for objectkey " + key, ':');
+        tokenizer.advance();
+        tokenizer.skipWhitespace();
+        if (tokenizer.finished()) {
+            throw new JsonParseException(key == null ? "Expected value for key" : "Expected value for key " + key);
         }
-        if (val.length() > 20) {
-            return new JsonNumber(new BigDecimal(val.toString()));
+        checkEntries(++entries[depth - 1]);
+        handler.key(key);
+        return true;
+    }
+
+    /**
+     * Moves the cursor to the next element of the current array
+     *
+     * @return false if the array ends, with the cursor at the closing ]
+     */
+    private boolean nextElement() {
+        tokenizer.skipWhitespace();
+        if (tokenizer.finished()) {
+            throw new JsonParseException("Expected , or ] in array");
         }
-        if (isDouble) {
-            return new JsonNumber(Double.parseDouble(val.toString()));
+        if (tokenizer.current() == ']') {
+            return false;
         }
-        return new JsonNumber(Long.parseLong(val.toString()));
+        checkEntries(++entries[depth - 1]);
+        return true;
     }
 
+    private void parseScalar(JsonHandler handler, char c) {
+        switch (c) {
+            case '"':
+                tokenizer.advance();
+                handler.stringValue(tokenizer.readString());
+                return;
+            case 't':
+            case 'f':
+                parseBooleanValue(handler);
+                return;
+            case 'n':
+                tokenizer.expectValue("null");
+                handler.nullValue();
+                return;
+        }
+        if (c == '-' || CharacterClasses.isDigit(c)) {
+            parseNumberValue(handler);
+            return;
+        }
+        throw new JsonParseException("Unexpected character '" + c + "'");
+    }
 
-    private JsonNull parseNullValue() {
-        expectValue("null");
-        return new JsonNull();
+    private void parseNumberValue(JsonHandler handler) {
+        switch (tokenizer.readNumber()) {
+            case JsonTokenizer.LONG:
+                handler.longValue(tokenizer.longValue);
+                break;
+            case JsonTokenizer.DOUBLE:
+                handler.doubleValue(tokenizer.doubleValue);
+                break;
+            default:
+                handler.bigDecimalValue(tokenizer.bigDecimalValue);
+        }
     }
 
-    private JsonValue parseBooleanValue() {
-        boolean isTrue = (lastRead == 't');
+    private void parseBooleanValue(JsonHandler handler) {
+        boolean isTrue = (tokenizer.current() == 't');
         String expect = isTrue ? "true" : "false";
-        expectValue(expect);
-        return new JsonBoolean(isTrue);
+        tokenizer.expectValue(expect);
+        handler.booleanValue(isTrue);
     }
 
-    private void expectValue(String value) {
-        StringBuilder res = new StringBuilder();
-        for (int i=0;i<value.length() && !finished;i++) {
-            res.append(lastRead);
-            readNext();
+    /**
+     * Reports the value to the handler if it is included in the projection and
+     * skips it otherwise. Values that are not objects or arrays are only included
+     * at the end of a path.
+     *
+     * @return false if the value was skipped
+     */
+    private boolean parseProjectedValue(JsonHandler handler, JsonProjection projection, String key) {
+        char c = tokenizer.current();
+        if (projection == null || (!projection.isComplete() && c != '{' && c != '[')) {
+            skipValue();
+            return false;
+        }
+        if (key != null) {
+            handler.key(key);
         }
-        if (!res.toString().equals(value)) {
-            throw new JsonParseException(String.format("Unexpected value %s",res.toString()));
+        if (projection.isComplete()) {
+            parseValue(handler);
+        } else if (c == '{') {
+            parseProjectedObject(handler, projection);
+        } else {
+            parseProjectedArray(handler, projection);
         }
+        return true;
     }
 
-    private JsonArray parseArray() {
-        JsonArray jsonArray = new JsonArray();
-        while (lastRead != ']') {
-            readNext();
-            if (lastRead == ']') {
+    private void parseProjectedArray(JsonHandler handler, JsonProjection projection) {
+        handler.startArray();
+        enterContainer(ARRAY);
+        tokenizer.advance();
+        for (int index = 0; ; index++) {
+            tokenizer.skipWhitespace();
+            if (tokenizer.finished()) {
+                throw new JsonParseException("Expected , or ] in array");
+            }
+            if (tokenizer.current() == ']') {
                 break;
             }
-            JsonNode jsonArrayValue = parseValue();
-            jsonArray.add(jsonArrayValue);
-            readSpaceUntil("Expected , or ] in array", ']', ',');
+            checkEntries(index + 1);
+            if (!parseProjectedValue(handler, projection.child(index), null)) {
+                handler.nullValue();
+            }
+            if (tokenizer.readSpaceUntil("Expected , or ] in array", ']', ',') == ']') {
+                break;
+            }
+            tokenizer.advance();
         }
-        readNext();
-        return jsonArray;
-    }
-
-    private JsonValue parseStringValue() {
-        readNext();
-        String value = readText();
-        return JsonFactory.jsonString(value);
+        tokenizer.advance();
+        handler.endArray();
+        depth--;
     }
 
-    private JsonObject parseObject() {
-        JsonObject jsonObject = new JsonObject();
-        while (lastRead != '}') {
-            readSpaceUntil("JsonObject not closed. Expected }", '}', '"');
-            if (lastRead == '}') {
-                readNext();
-                return jsonObject;
+    private void parseProjectedObject(JsonHandler handler, JsonProjection projection) {
+        handler.startObject();
+        enterContainer(OBJECT);
+        tokenizer.advance();
+        int members = 0;
+        while (true) {
+            if (tokenizer.readSpaceUntil("JsonObject not closed. Expected }", '}', '"') == '}') {
+                break;
             }
-            readNext();
-            String key = readText();
-            readSpaceUntil("Expected value for objectkey " + key, ':');
-            readNext();
-            if (finished) {
+            tokenizer.advance();
+            String key = tokenizer.readKey();
+            tokenizer.readSpaceUntil("Expected value for objectkey " + key, ':');
+            tokenizer.advance();
+            tokenizer.skipWhitespace();
+            if (tokenizer.finished()) {
                 throw new JsonParseException("Expected value for key " + key);
             }
-            JsonNode value = parseValue();
-            jsonObject.put(key, value);
-            readSpaceUntil("JsonObject not closed. Expected }", ',', '}');
+            checkEntries(++members);
+            parseProjectedValue(handler, projection.child(key), key);
+            if (tokenizer.readSpaceUntil("JsonObject not closed. Expected }", ',', '}') == '}') {
+                break;
+            }
+            tokenizer.advance();
         }
-        readNext();
-        return jsonObject;
+        tokenizer.advance();
+        handler.endObject();
+        depth--;
     }
 
-    private String readText() {
-        StringBuilder res = new StringBuilder();
-        while (!(finished || lastRead == '"')) {
-            if (lastRead == '\\') {
-                readNext();
-                if (finished) {
-                    throw new JsonParseException("JsonString not closed. Ended in escape sequence");
-                }
-                switch (lastRead) {
-                    case '"':
-                        res.append("\"");
-                        break;
-                    case '\\':
-                        res.append("\\");
-                        break;
-                    case '/':
-                        res.append("/");
-                        break;
-                    case 'b':
-                        res.append("\b");
-                        break;
-                    case 'f':
-                        res.append("\f");
-                        break;
-                    case 'n':
-                        res.append("\n");
-                        break;
-                    case 't':
-                        res.append("\t");
-                        break;
-                    case 'u':
-                        res.append(readUnicodeValue());
-                        break;
-                }
-            } else {
-                res.append(lastRead);
-            }
-            readNext();
-        }
-        if (finished) {
-            throw new JsonParseException("JsonString not closed. Expected \"");
-        }
-        return res.toString();
+    /**
+     * Consumes the value at the cursor without building it. Object keys
+     * and strings are skipped without being decoded.
+     */
+    private void skipValue() {
+        parseNested(SKIPPED, true);
     }
 
-    private String readUnicodeValue() {
-        StringBuilder code = new StringBuilder();
-        for (int i=0;i<4;i++) {
-            readNext();
-            if (finished) {
-                throw new JsonParseException("JsonString not closed. Ended in escape sequence");
-            }
-            code.append(lastRead);
+    private void enterContainer(byte container) {
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+            entries = Arrays.copyOf(entries, depth * 2);
         }
-
-        int unicode;
-        try {
-            unicode = Integer.parseInt(code.toString(), 16);
-        } catch (NumberFormatException e) {
-            throw new JsonParseException("Illegal unicode sequence " + code);
+        containers[depth] = container;
+        entries[depth] = 0;
+        if (++depth > tokenizer.maxDepth) {
+            throw new JsonParseException("Maximum depth of " + tokenizer.maxDepth + " exceeded");
         }
-        String s = Character.toString((char)unicode);
-        return s;
     }
 
-    private void readSpaceUntil(String errormessage, Character... readUntil) {
-        List<Character> until = Arrays.asList(readUntil);
-        if (until.contains(lastRead)) {
-            return;
-        }
-        readNext();
-        while (!(finished || until.contains(lastRead))) {
-            if (!Character.isWhitespace(lastRead)) {
-                throw new JsonParseException(errormessage);
-            }
-            readNext();
-        }
-        if (finished) {
-            throw new JsonParseException(errormessage);
+    private void checkEntries(int count) {
+        if (count > tokenizer.maxEntries) {
+            throw new JsonParseException("Maximum of " + tokenizer.maxEntries + " entries exceeded");
         }
     }
 
-
 }
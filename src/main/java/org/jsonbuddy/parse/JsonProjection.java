@@ -0,0 +1,134 @@
+package org.jsonbuddy.parse;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A set of paths to include when parsing a document with
+ * {@link JsonParser#parse(java.io.Reader, JsonProjection)}. Values that are not on
+ * any of the paths are skipped by the parser without being built.
+ * <p>
+ * Paths are written as JSON pointers, like <code>/user/id</code>, where each
+ * segment is an object key or an array index. The segment <code>*</code>
+ * matches any key or index, for example <code>/items/*&#47;price</code>.
+ * Everything below the end of a path is included. The empty path includes
+ * the whole document.
+ * <p>
+ * Objects and arrays on a path are always included, even when none of their
+ * members are. Object members that are not included are left out. Array
+ * elements that are not included are replaced by null, so the included
+ * elements keep their positions. For example <code>/items/*&#47;price</code>
+ * turns <code>{"items":[{"price":1},"text",{}]}</code> into
+ * <code>{"items":[{"price":1},null,{}]}</code>.
+ */
+public class JsonProjection {
+
+    private final Map<String, JsonProjection> children = new HashMap<>();
+    private JsonProjection wildcard;
+    private boolean complete;
+
+    private JsonProjection() {
+    }
+
+    /**
+     * Creates a JsonProjection that includes the argument paths
+     *
+     * @throws IllegalArgumentException if a path is not empty and does not start with /
+     */
+    public static JsonProjection of(String... paths) throws IllegalArgumentException {
+        return of(Arrays.asList(paths));
+    }
+
+    /**
+     * Creates a JsonProjection that includes the argument paths
+     *
+     * @throws IllegalArgumentException if a path is not empty and does not start with /
+     */
+    public static JsonProjection of(Collection<String> paths) throws IllegalArgumentException {
+        JsonProjection root = new JsonProjection();
+        for (String path : paths) {
+            root.add(path);
+        }
+        root.mergeWildcards();
+        return root;
+    }
+
+    /**
+     * Returns the projection for the value of the argument key, or null
+     * if the value is not included
+     */
+    JsonProjection child(String key) {
+        if (complete) {
+            return this;
+        }
+        JsonProjection child = children.get(key);
+        return child != null ? child : wildcard;
+    }
+
+    /**
+     * Returns the projection for the array element at the argument index, or null
+     * if the element is not included
+     */
+    JsonProjection child(int index) {
+        if (complete) {
+            return this;
+        }
+        return children.isEmpty() ? wildcard : child(String.valueOf(index));
+    }
+
+    /**
+     * Returns true if everything below this projection is included
+     */
+    boolean isComplete() {
+        return complete;
+    }
+
+    private void add(String path) {
+        if (!path.isEmpty() && !path.startsWith("/")) {
+            throw new IllegalArgumentException("Path must start with / " + path);
+        }
+        JsonProjection node = this;
+        if (!path.isEmpty()) {
+            for (String segment : path.substring(1).split("/", -1)) {
+                if (segment.equals("*")) {
+                    if (node.wildcard == null) {
+                        node.wildcard = new JsonProjection();
+                    }
+                    node = node.wildcard;
+                } else {
+                    String key = segment.replace("~1", "/").replace("~0", "~");
+                    node = node.children.computeIfAbsent(key, k -> new JsonProjection());
+                }
+            }
+        }
+        node.complete = true;
+    }
+
+    /**
+     * Makes the paths that follow a wildcard apply to the named children as well
+     */
+    private void mergeWildcards() {
+        if (wildcard != null) {
+            for (JsonProjection child : children.values()) {
+                child.merge(wildcard);
+            }
+            wildcard.mergeWildcards();
+        }
+        for (JsonProjection child : children.values()) {
+            child.mergeWildcards();
+        }
+    }
+
+    private void merge(JsonProjection other) {
+        complete |= other.complete;
+        other.children.forEach((key, child) -> children.computeIfAbsent(key, k -> new JsonProjection()).merge(child));
+        if (other.wildcard != null) {
+            if (wildcard == null) {
+                wildcard = new JsonProjection();
+            }
+            wildcard.merge(other.wildcard);
+        }
+    }
+}
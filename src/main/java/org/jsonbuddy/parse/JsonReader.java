@@ -0,0 +1,450 @@
+package org.jsonbuddy.parse;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.jsonbuddy.JsonConversionException;
+import org.jsonbuddy.JsonFactory;
+import org.jsonbuddy.JsonNode;
+import org.jsonbuddy.JsonValueNotPresentException;
+
+/**
+ * Reads JSON one token at a time instead of building the whole document
+ * as a tree. Use {@link #readNode()} to build a JsonNode of only the
+ * current value, and {@link #skipChildren()} to skip an object or array
+ * you are not interested in. For example, to process a huge array of
+ * objects element by element:
+ *
+ * <pre>
+ * JsonReader reader = new JsonReader(inputStream);
+ * reader.nextToken(); // START_ARRAY
+ * while (reader.nextToken() != JsonToken.END_ARRAY) {
+ *     JsonObject element = (JsonObject) reader.readNode();
+ * }
+ * </pre>
+ *
+ * Syntax errors are reported with {@link JsonParseException} as they are encountered.
+ */
+public class JsonReader {
+
+    private static final int ROOT = 0;
+    private static final int ROOT_DONE = 1;
+    private static final int OBJECT_START = 2;
+    private static final int OBJECT_KEY = 3;
+    private static final int OBJECT_VALUE = 4;
+    private static final int ARRAY_START = 5;
+    private static final int ARRAY_VALUE = 6;
+
+    private static final String OBJECT_NOT_CLOSED = "JsonObject not closed. Expected }";
+    private static final String ARRAY_NOT_CLOSED = "Expected , or ] in array";
+
+    private final JsonTokenizer tokenizer;
+    private int[] states = new int[16];
+    private String[] names = new String[16];
+    private int depth;
+    private boolean atContainerStart;
+    private JsonToken currentToken;
+    private String text;
+    private int numberType;
+
+    private int markDepth;
+    private int markState;
+    private String markName;
+    private boolean markAtContainerStart;
+    private JsonToken markToken;
+
+    public JsonReader(Reader reader) {
+        this(new CharTokenizer(reader));
+    }
+
+    public JsonReader(String input) {
+        this(new CharTokenizer(new StringReader(input), input.length()));
+    }
+
+    /**
+     * Reads the UTF-8 encoded InputStream
+     */
+    public JsonReader(InputStream inputStream) {
+        this(new Utf8Tokenizer(inputStream));
+    }
+
+    /**
+     * Reads the UTF-8 encoded bytes
+     */
+    public JsonReader(byte[] input) {
+        this(new Utf8Tokenizer(input, 0, input.length));
+    }
+
+    JsonReader(JsonTokenizer tokenizer) {
+        this.tokenizer = tokenizer;
+        this.states[0] = ROOT;
+    }
+
+    /**
+     * Moves to the next token and returns it.
+     *
+     * @return the next token, or null at the end of the document
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public JsonToken nextToken() throws JsonParseException {
+        if (atContainerStart) {
+            tokenizer.advance();
+            atContainerStart = false;
+        }
+        currentToken = readToken(false);
+        return currentToken;
+    }
+
+    /**
+     * Returns the token last returned by {@link #nextToken()}
+     */
+    public JsonToken currentToken() {
+        return currentToken;
+    }
+
+    /**
+     * Returns the key of the current value if it is a member of a JsonObject, or
+     * the key itself if the current token is {@link JsonToken#FIELD_NAME}.
+     * Returns null for values in arrays and the root value.
+     */
+    public String currentName() {
+        if (currentToken == JsonToken.START_OBJECT || currentToken == JsonToken.START_ARRAY) {
+            return names[depth - 1];
+        }
+        return names[depth];
+    }
+
+    /**
+     * If the current token is {@link JsonToken#START_OBJECT} or {@link JsonToken#START_ARRAY},
+     * skips to the matching end token without building any values. Otherwise does nothing.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public void skipChildren() throws JsonParseException {
+        if (currentToken != JsonToken.START_OBJECT && currentToken != JsonToken.START_ARRAY) {
+            return;
+        }
+        int parentDepth = depth - 1;
+        while (depth > parentDepth) {
+            if (atContainerStart) {
+                tokenizer.advance();
+                atContainerStart = false;
+            }
+            currentToken = readToken(true);
+        }
+    }
+
+    /**
+     * Builds a JsonNode of the current value. If the current token starts
+     * an object or an array, the reader moves to its end token. If the current
+     * token is {@link JsonToken#FIELD_NAME}, the value of the field is read.
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     * @throws IllegalStateException if the current token is not the start of a value
+     */
+    public JsonNode readNode() throws JsonParseException {
+        if (currentToken == JsonToken.FIELD_NAME) {
+            nextToken();
+        }
+        if (currentToken == null) {
+            throw new IllegalStateException("Expected a value, but was end of document");
+        }
+        switch (currentToken) {
+            case START_OBJECT:
+            case START_ARRAY:
+                JsonNode node = new JsonParser(tokenizer).parseValue();
+                atContainerStart = false;
+                depth--;
+                currentToken = currentToken == JsonToken.START_OBJECT ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+                return node;
+            case STRING:
+                return JsonFactory.jsonString(text);
+            case NUMBER:
+                return tokenizer.numberNode(numberType);
+            case TRUE:
+            case FALSE:
+                return JsonFactory.jsonBoolean(currentToken == JsonToken.TRUE);
+            case NULL:
+                return JsonFactory.jsonNull();
+            default:
+                throw new IllegalStateException("Expected a value, but was " + currentToken);
+        }
+    }
+
+    /**
+     * Returns the current value as a String, like {@link JsonNode#stringValue()}.
+     * For {@link JsonToken#FIELD_NAME}, returns the key.
+     *
+     * @throws JsonValueNotPresentException if the current token is not a value or a key
+     */
+    public String stringValue() throws JsonValueNotPresentException {
+        if (currentToken == null) {
+            throw new JsonValueNotPresentException("Not supported at end of document");
+        }
+        switch (currentToken) {
+            case FIELD_NAME:
+                return names[depth];
+            case STRING:
+                return text;
+            case NUMBER:
+                return numberValue().toString();
+            case TRUE:
+                return "true";
+            case FALSE:
+                return "false";
+            case NULL:
+                return null;
+            default:
+                throw new JsonValueNotPresentException("Not supported for " + currentToken);
+        }
+    }
+
+    /**
+     * Returns the current value as a Number.
+     *
+     * @throws JsonConversionException if the current token is not a number
+     */
+    public Number numberValue() throws JsonConversionException {
+        if (currentToken != JsonToken.NUMBER) {
+            throw new JsonConversionException(currentToken + " is not numeric");
+        }
+        switch (numberType) {
+            case JsonTokenizer.LONG:
+                return tokenizer.longValue;
+            case JsonTokenizer.DOUBLE:
+                return tokenizer.doubleValue;
+            default:
+                return tokenizer.bigDecimalValue;
+        }
+    }
+
+    /**
+     * Returns the current value as a long.
+     *
+     * @throws JsonConversionException if the current token is not a number
+     */
+    public long longValue() throws JsonConversionException {
+        if (currentToken == JsonToken.NUMBER && numberType == JsonTokenizer.LONG) {
+            return tokenizer.longValue;
+        }
+        return numberValue().longValue();
+    }
+
+    /**
+     * Returns the current value as a double.
+     *
+     * @throws JsonConversionException if the current token is not a number
+     */
+    public double doubleValue() throws JsonConversionException {
+        if (currentToken == JsonToken.NUMBER && numberType == JsonTokenizer.DOUBLE) {
+            return tokenizer.doubleValue;
+        }
+        return numberValue().doubleValue();
+    }
+
+    /**
+     * Returns the current value as a boolean.
+     *
+     * @throws JsonConversionException if the current token is not true or false
+     */
+    public boolean booleanValue() throws JsonConversionException {
+        if (currentToken != JsonToken.TRUE && currentToken != JsonToken.FALSE) {
+            throw new JsonConversionException(currentToken + " is not boolean");
+        }
+        return currentToken == JsonToken.TRUE;
+    }
+
+    /**
+     * Reports the current token to the handler
+     */
+    void emit(JsonHandler handler) {
+        switch (currentToken) {
+            case START_OBJECT:
+                handler.startObject();
+                break;
+            case END_OBJECT:
+                handler.endObject();
+                break;
+            case START_ARRAY:
+                handler.startArray();
+                break;
+            case END_ARRAY:
+                handler.endArray();
+                break;
+            case FIELD_NAME:
+                handler.key(names[depth]);
+                break;
+            case STRING:
+                handler.stringValue(text);
+                break;
+            case NUMBER:
+                if (numberType == JsonTokenizer.LONG) {
+                    handler.longValue(tokenizer.longValue);
+                } else if (numberType == JsonTokenizer.DOUBLE) {
+                    handler.doubleValue(tokenizer.doubleValue);
+                } else {
+                    handler.bigDecimalValue(tokenizer.bigDecimalValue);
+                }
+                break;
+            case TRUE:
+            case FALSE:
+                handler.booleanValue(currentToken == JsonToken.TRUE);
+                break;
+            case NULL:
+                handler.nullValue();
+                break;
+        }
+    }
+
+    /**
+     * Returns the number of objects and arrays that contain the current position
+     */
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * Allows the reader to read another value after the root value is complete
+     */
+    void nextDocument() {
+        depth = 0;
+        states[0] = ROOT;
+    }
+
+    /**
+     * Remembers the state before the next token, so that {@link #reset()}
+     * can undo the reading of a token. The caller is responsible for moving
+     * the tokenizer back.
+     */
+    void mark() {
+        markDepth = depth;
+        markState = states[depth];
+        markName = names[depth];
+        markAtContainerStart = atContainerStart;
+        markToken = currentToken;
+    }
+
+    void reset() {
+        depth = markDepth;
+        states[depth] = markState;
+        names[depth] = markName;
+        atContainerStart = markAtContainerStart;
+        currentToken = markToken;
+    }
+
+    private JsonToken readToken(boolean skip) {
+        switch (states[depth]) {
+            case ROOT:
+                states[depth] = ROOT_DONE;
+                return readValue(skip);
+            case ROOT_DONE:
+                return null;
+            case OBJECT_VALUE:
+                if (tokenizer.readSpaceUntil(OBJECT_NOT_CLOSED, ',', '}') == '}') {
+                    return endContainer(JsonToken.END_OBJECT);
+                }
+                tokenizer.advance();
+                return readFieldName();
+            case OBJECT_START:
+                return readFieldName();
+            case OBJECT_KEY:
+                states[depth] = OBJECT_VALUE;
+                return readValue(skip);
+            case ARRAY_VALUE:
+                if (tokenizer.readSpaceUntil(ARRAY_NOT_CLOSED, ']', ',') == ']') {
+                    return endContainer(JsonToken.END_ARRAY);
+                }
+                tokenizer.advance();
+                return readElement(skip);
+            case ARRAY_START:
+                return readElement(skip);
+            default:
+                throw new IllegalStateException("Unknown state " + states[depth]);
+        }
+    }
+
+    private JsonToken readFieldName() {
+        if (tokenizer.readSpaceUntil(OBJECT_NOT_CLOSED, '}', '"') == '}') {
+            return endContainer(JsonToken.END_OBJECT);
+        }
+        tokenizer.advance();
+        String key = tokenizer.readKey();
+        tokenizer.readSpaceUntil("Expected value for objectkey " + key, ':');
+        tokenizer.advance();
+        tokenizer.skipWhitespace();
+        if (tokenizer.finished()) {
+            throw new JsonParseException("Expected value for key " + key);
+        }
+        names[depth] = key;
+        states[depth] = OBJECT_KEY;
+        return JsonToken.FIELD_NAME;
+    }
+
+    private JsonToken readElement(boolean skip) {
+        tokenizer.skipWhitespace();
+        if (tokenizer.finished()) {
+            throw new JsonParseException(ARRAY_NOT_CLOSED);
+        }
+        if (tokenizer.current() == ']') {
+            return endContainer(JsonToken.END_ARRAY);
+        }
+        states[depth] = ARRAY_VALUE;
+        return readValue(skip);
+    }
+
+    private JsonToken readValue(boolean skip) {
+        tokenizer.skipWhitespace();
+        if (tokenizer.finished()) {
+            return null;
+        }
+        char c = tokenizer.current();
+        switch (c) {
+            case '{':
+                push(OBJECT_START);
+                return JsonToken.START_OBJECT;
+            case '[':
+                push(ARRAY_START);
+                return JsonToken.START_ARRAY;
+            case '"':
+                tokenizer.advance();
+                if (skip) {
+                    tokenizer.skipString();
+                } else {
+                    text = tokenizer.readString();
+                }
+                return JsonToken.STRING;
+            case 't':
+                tokenizer.expectValue("true");
+                return JsonToken.TRUE;
+            case 'f':
+                tokenizer.expectValue("false");
+                return JsonToken.FALSE;
+            case 'n':
+                tokenizer.expectValue("null");
+                return JsonToken.NULL;
+        }
+        if (c == '-' || CharacterClasses.isDigit(c)) {
+            numberType = tokenizer.readNumber();
+            return JsonToken.NUMBER;
+        }
+        throw new JsonParseException("Unexpected character '" + c + "'");
+    }
+
+    private void push(int state) {
+        if (++depth == states.length) {
+            states = Arrays.copyOf(states, depth * 2);
+            names = Arrays.copyOf(names, depth * 2);
+        }
+        states[depth] = state;
+        names[depth] = null;
+        atContainerStart = true;
+    }
+
+    private JsonToken endContainer(JsonToken token) {
+        tokenizer.advance();
+        depth--;
+        return token;
+    }
+}
@@ -0,0 +1,117 @@
+package org.jsonbuddy.parse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.jsonbuddy.JsonNode;
+
+/**
+ * Reads JSON values that are concatenated in one input, like
+ * <code>{"id":1}{"id":2} [3]</code>, with optional whitespace between them.
+ * The record separators of JSON text sequences (RFC 7464) are skipped as
+ * whitespace. Numbers must be followed by whitespace before the next value.
+ * <p>
+ * The values are parsed one at a time with the same buffers, and a value
+ * is returned as soon as it is complete, without waiting for the input after
+ * it. This makes it suitable for values sent back-to-back on a socket.
+ *
+ * <pre>
+ * try (Stream&lt;JsonNode&gt; messages = JsonSequenceReader.stream(socket.getInputStream())) {
+ *     messages.forEach(...);
+ * }
+ * </pre>
+ *
+ * @see JsonLinesReader
+ */
+public class JsonSequenceReader implements Iterator<JsonNode>, Closeable {
+
+    private final Closeable input;
+    private final JsonTokenizer tokenizer;
+    private final JsonParser parser;
+
+    /**
+     * Reads JSON values from the UTF-8 encoded InputStream
+     */
+    public JsonSequenceReader(InputStream inputStream) {
+        this(inputStream, new Utf8Tokenizer(inputStream));
+    }
+
+    public JsonSequenceReader(Reader reader) {
+        this(reader, new CharTokenizer(reader));
+    }
+
+    private JsonSequenceReader(Closeable input, JsonTokenizer tokenizer) {
+        this.input = input;
+        this.tokenizer = tokenizer;
+        this.parser = new JsonParser(tokenizer);
+    }
+
+    /**
+     * Returns a lazily parsed Stream of the JSON values in the UTF-8 encoded
+     * InputStream. Closing the Stream closes the InputStream.
+     */
+    public static Stream<JsonNode> stream(InputStream inputStream) {
+        return new JsonSequenceReader(inputStream).stream();
+    }
+
+    /**
+     * Returns a lazily parsed Stream of the JSON values in the Reader.
+     * Closing the Stream closes the Reader.
+     */
+    public static Stream<JsonNode> stream(Reader reader) {
+        return new JsonSequenceReader(reader).stream();
+    }
+
+    /**
+     * Returns a lazily parsed Stream of the remaining JSON values.
+     * Closing the Stream closes this reader.
+     */
+    public Stream<JsonNode> stream() {
+        Spliterator<JsonNode> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * Returns true if there are more values. Blocks until the start of the
+     * next value or the end of the input has been read.
+     */
+    @Override
+    public boolean hasNext() {
+        tokenizer.skipWhitespace();
+        return !tokenizer.finished();
+    }
+
+    /**
+     * Parses and returns the next value.
+     *
+     * @throws JsonParseException if the next value is not valid JSON
+     */
+    @Override
+    public JsonNode next() throws JsonParseException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return parser.parseValue();
+    }
+
+    /**
+     * Closes the underlying input
+     */
+    @Override
+    public void close() {
+        try {
+            input.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
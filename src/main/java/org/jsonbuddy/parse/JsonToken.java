@@ -0,0 +1,27 @@
+package org.jsonbuddy.parse;
+
+/**
+ * The tokens returned by {@link JsonReader#nextToken()}
+ */
+public enum JsonToken {
+    START_OBJECT,
+    END_OBJECT,
+    START_ARRAY,
+    END_ARRAY,
+    /**
+     * The key of a value in a JsonObject. The value is the next token.
+     */
+    FIELD_NAME,
+    STRING,
+    NUMBER,
+    TRUE,
+    FALSE,
+    NULL;
+
+    /**
+     * Returns true for tokens that are a complete value by themselves
+     */
+    public boolean isScalarValue() {
+        return this == STRING || this == NUMBER || this == TRUE || this == FALSE || this == NULL;
+    }
+}
@@ -0,0 +1,365 @@
+package org.jsonbuddy.parse;
+
+import java.math.BigDecimal;
+
+import org.jsonbuddy.JsonFactory;
+import org.jsonbuddy.JsonNumber;
+
+/**
+ * The lexical layer of {@link JsonParser}: a cursor over the input with
+ * methods to read the strings, numbers and literals of JSON. Subclasses
+ * provide the input as characters or as UTF-8 bytes.
+ * <p>
+ * The cursor is always at the first character not yet consumed. Each
+ * read method consumes the complete token, including closing quotes.
+ */
+abstract class JsonTokenizer {
+
+    static final int LONG = 0;
+    static final int DOUBLE = 1;
+    static final int BIG_DECIMAL = 2;
+
+    /** The most decimal digits that always fit in an unsigned long */
+    private static final int MAX_SIGNIFICANT_DIGITS = 19;
+
+    private final StringBuilder text = new StringBuilder();
+
+    long longValue;
+    double doubleValue;
+    BigDecimal bigDecimalValue;
+
+    /**
+     * Canonicalizes object keys, or null to create a new String for each key
+     */
+    KeyCache keyCache = KeyCache.shared();
+
+    /**
+     * Deduplicates string values when building nodes, or null
+     */
+    StringValueCache stringValueCache;
+
+    /**
+     * Limits from {@link ParserOptions}, checked while scanning
+     */
+    int maxDepth = Integer.MAX_VALUE;
+    int maxEntries = Integer.MAX_VALUE;
+    int maxStringLength = Integer.MAX_VALUE;
+    int maxNumberLength = Integer.MAX_VALUE;
+    long maxTotalChars = Long.MAX_VALUE;
+    private long inputCount;
+
+    /**
+     * Returns true when all the input has been consumed
+     */
+    abstract boolean finished();
+
+    /**
+     * Records that more characters, or bytes for UTF-8 input, were read into
+     * the tokenizer, and checks the total against {@link #maxTotalChars}
+     */
+    void countInput(long count) {
+        inputCount += count;
+        if (inputCount > maxTotalChars) {
+            throw new JsonParseException("Document exceeds maximum size of " + maxTotalChars);
+        }
+    }
+
+    /**
+     * Starts counting the input of a new document
+     */
+    void resetInputCount() {
+        inputCount = 0;
+    }
+
+    /**
+     * Returns the character at the cursor. Only valid when not {@link #finished()}
+     */
+    abstract char current();
+
+    /**
+     * Moves the cursor to the next character
+     */
+    abstract void advance();
+
+    /**
+     * Appends characters to the target until the cursor is at a
+     * quote or backslash, or the input is finished. Stops reading more
+     * input as soon as the target is longer than {@link #maxStringLength}.
+     */
+    protected abstract void appendStringRun(StringBuilder target);
+
+    void skipWhitespace() {
+        while (!finished() && CharacterClasses.isWhitespace(current())) {
+            advance();
+        }
+    }
+
+    /**
+     * Skips whitespace and returns the expected character, leaving it as the
+     * current character.
+     *
+     * @throws JsonParseException with the errormessage if any other character is found
+     */
+    char readSpaceUntil(String errormessage, char expected) {
+        skipWhitespace();
+        if (finished() || current() != expected) {
+            throw new JsonParseException(errormessage);
+        }
+        return expected;
+    }
+
+    /**
+     * Skips whitespace and returns the first of the expected characters, leaving
+     * it as the current character.
+     *
+     * @throws JsonParseException with the errormessage if any other character is found
+     */
+    char readSpaceUntil(String errormessage, char expected, char alternative) {
+        skipWhitespace();
+        if (!finished()) {
+            char c = current();
+            if (c == expected || c == alternative) {
+                return c;
+            }
+        }
+        throw new JsonParseException(errormessage);
+    }
+
+    /**
+     * Consumes the literal value (true, false or null) at the cursor.
+     */
+    void expectValue(String value) {
+        StringBuilder res = new StringBuilder();
+        for (int i=0;i<value.length() && !finished();i++) {
+            res.append(current());
+            advance();
+        }
+        if (!res.toString().equals(value)) {
+            throw new JsonParseException(String.format("Unexpected value %s",res.toString()));
+        }
+    }
+
+    /**
+     * Reads the number at the cursor. The value is available from
+     * {@link #longValue}, {@link #doubleValue} or {@link #bigDecimalValue},
+     * depending on the returned type. The digits are accumulated while they are
+     * read, and only numbers with more significant digits than a long can hold
+     * become a BigDecimal.
+     *
+     * @return {@link #LONG}, {@link #DOUBLE} or {@link #BIG_DECIMAL}
+     */
+    int readNumber() {
+        StringBuilder val = text;
+        val.setLength(0);
+        boolean negative = current() == '-';
+        if (negative) {
+            val.append('-');
+            advance();
+        }
+        long significand = 0;
+        int significantDigits = 0;
+        boolean truncated = false;
+        int exponent = 0;
+        int digits = 0;
+        boolean isDouble = false;
+        boolean valid = true;
+        boolean fraction = false;
+        while (!finished()) {
+            char c = current();
+            if (c >= '0' && c <= '9') {
+                if (significantDigits < MAX_SIGNIFICANT_DIGITS) {
+                    significand = significand * 10 + (c - '0');
+                    if (significand != 0) {
+                        significantDigits++;
+                    }
+                    if (fraction) {
+                        exponent--;
+                    }
+                } else {
+                    truncated = true;
+                }
+                digits++;
+            } else if (c == '.' && !fraction && !isDouble) {
+                fraction = isDouble = true;
+            } else {
+                break;
+            }
+            val.append(c);
+            advance();
+            checkNumberLength(val);
+        }
+        if (!finished() && (current() == 'e' || current() == 'E')) {
+            isDouble = true;
+            val.append(current());
+            advance();
+            boolean negativeExponent = !finished() && current() == '-';
+            if (!finished() && (current() == '-' || current() == '+')) {
+                val.append(current());
+                advance();
+            }
+            int explicitExponent = 0;
+            int exponentDigits = 0;
+            while (!finished() && current() >= '0' && current() <= '9') {
+                if (explicitExponent < 100_000) {
+                    explicitExponent = explicitExponent * 10 + (current() - '0');
+                }
+                exponentDigits++;
+                val.append(current());
+                advance();
+                checkNumberLength(val);
+            }
+            valid = exponentDigits > 0;
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+        while (!finished() && CharacterClasses.isNumberCharacter(current())) {
+            valid = false;
+            val.append(current());
+            advance();
+            checkNumberLength(val);
+        }
+        if (!finished() && !CharacterClasses.endsNumber(current())) {
+            throw new JsonParseException("Illegal value '" + val + current() + "'");
+        }
+        if (!valid || digits == 0) {
+            throw new JsonParseException("Illegal value '" + val + "'");
+        }
+        if (truncated || (!isDouble && significand < 0 && !(negative && significand == Long.MIN_VALUE))) {
+            bigDecimalValue = new BigDecimal(val.toString());
+            return BIG_DECIMAL;
+        }
+        if (!isDouble) {
+            longValue = negative ? -significand : significand;
+            return LONG;
+        }
+        doubleValue = DoubleConversion.toDouble(negative, significand, exponent);
+        if (Double.isNaN(doubleValue)) {
+            doubleValue = Double.parseDouble(val.toString());
+        }
+        return DOUBLE;
+    }
+
+    private void checkNumberLength(StringBuilder val) {
+        if (val.length() > maxNumberLength) {
+            throw new JsonParseException("Number longer than maximum length of " + maxNumberLength);
+        }
+    }
+
+    /**
+     * Returns the number last read by {@link #readNumber()} as a JsonNumber
+     */
+    JsonNumber numberNode(int type) {
+        switch (type) {
+            case LONG:
+                return JsonFactory.jsonLong(longValue);
+            case DOUBLE:
+                return JsonFactory.jsonDouble(doubleValue);
+            default:
+                return JsonFactory.jsonNumber(bigDecimalValue);
+        }
+    }
+
+    /**
+     * Reads the characters of a string up to and including the closing quote.
+     * The cursor must be at the first character after the opening quote.
+     */
+    String readString() {
+        return readText().toString();
+    }
+
+    /**
+     * Reads an object key like {@link #readString()}. Keys that are already in
+     * the {@link #keyCache} are returned as the cached String instance.
+     */
+    String readKey() {
+        StringBuilder chars = readText();
+        return keyCache != null ? keyCache.get(chars) : chars.toString();
+    }
+
+    private StringBuilder readText() {
+        StringBuilder res = text;
+        res.setLength(0);
+        while (true) {
+            appendStringRun(res);
+            if (res.length() > maxStringLength) {
+                throw new JsonParseException("String longer than maximum length of " + maxStringLength);
+            }
+            if (finished()) {
+                throw new JsonParseException("JsonString not closed. Expected \"");
+            }
+            if (current() == '"') {
+                advance();
+                return res;
+            }
+            advance();
+            if (finished()) {
+                throw new JsonParseException("JsonString not closed. Ended in escape sequence");
+            }
+            switch (current()) {
+                case '"':
+                    res.append('"');
+                    break;
+                case '\\':
+                    res.append('\\');
+                    break;
+                case '/':
+                    res.append('/');
+                    break;
+                case 'b':
+                    res.append('\b');
+                    break;
+                case 'f':
+                    res.append('\f');
+                    break;
+                case 'n':
+                    res.append('\n');
+                    break;
+                case 'r':
+                    res.append('\r');
+                    break;
+                case 't':
+                    res.append('\t');
+                    break;
+                case 'u':
+                    res.append(readUnicodeValue());
+                    break;
+            }
+            advance();
+        }
+    }
+
+    /**
+     * Consumes a string like {@link #readString()} without keeping its value.
+     */
+    void skipString() {
+        while (!finished() && current() != '"') {
+            if (current() == '\\') {
+                advance();
+                if (finished()) {
+                    throw new JsonParseException("JsonString not closed. Ended in escape sequence");
+                }
+            }
+            advance();
+        }
+        if (finished()) {
+            throw new JsonParseException("JsonString not closed. Expected \"");
+        }
+        advance();
+    }
+
+    private char readUnicodeValue() {
+        int unicode = 0;
+        for (int i=0;i<4;i++) {
+            advance();
+            if (finished()) {
+                throw new JsonParseException("JsonString not closed. Ended in escape sequence");
+            }
+            int digit = Character.digit(current(), 16);
+            if (digit < 0) {
+                throw new JsonParseException("Illegal unicode sequence " + current());
+            }
+            unicode = unicode * 16 + digit;
+        }
+        return (char) unicode;
+    }
+
+}
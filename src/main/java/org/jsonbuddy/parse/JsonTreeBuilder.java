@@ -0,0 +1,117 @@
+package org.jsonbuddy.parse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonFactory;
+import org.jsonbuddy.JsonNode;
+import org.jsonbuddy.JsonObject;
+
+/**
+ * Builds JsonObject, JsonArray and JsonValue nodes from the events of the parser.
+ */
+class JsonTreeBuilder implements JsonHandler {
+
+    private final List<JsonNode> containers = new ArrayList<>();
+    private final StringValueCache stringValueCache;
+    private String key;
+    private JsonNode result;
+
+    JsonTreeBuilder() {
+        this(null);
+    }
+
+    JsonTreeBuilder(StringValueCache stringValueCache) {
+        this.stringValueCache = stringValueCache;
+    }
+
+    /**
+     * Prepares the builder for the next value
+     */
+    void reset() {
+        containers.clear();
+        key = null;
+        result = null;
+    }
+
+    /**
+     * Returns the root node, or null if the input had no value
+     */
+    JsonNode result() {
+        return result;
+    }
+
+    @Override
+    public void startObject() {
+        JsonObject jsonObject = new JsonObject();
+        add(jsonObject);
+        containers.add(jsonObject);
+    }
+
+    @Override
+    public void key(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public void endObject() {
+        containers.remove(containers.size() - 1);
+    }
+
+    @Override
+    public void startArray() {
+        JsonArray jsonArray = new JsonArray();
+        add(jsonArray);
+        containers.add(jsonArray);
+    }
+
+    @Override
+    public void endArray() {
+        containers.remove(containers.size() - 1);
+    }
+
+    @Override
+    public void stringValue(String value) {
+        add(stringValueCache != null ? stringValueCache.get(value) : JsonFactory.jsonString(value));
+    }
+
+    @Override
+    public void longValue(long value) {
+        add(JsonFactory.jsonLong(value));
+    }
+
+    @Override
+    public void doubleValue(double value) {
+        add(JsonFactory.jsonDouble(value));
+    }
+
+    @Override
+    public void bigDecimalValue(BigDecimal value) {
+        add(JsonFactory.jsonNumber(value));
+    }
+
+    @Override
+    public void booleanValue(boolean value) {
+        add(JsonFactory.jsonBoolean(value));
+    }
+
+    @Override
+    public void nullValue() {
+        add(JsonFactory.jsonNull());
+    }
+
+    private void add(JsonNode node) {
+        if (containers.isEmpty()) {
+            result = node;
+            return;
+        }
+        JsonNode container = containers.get(containers.size() - 1);
+        if (container instanceof JsonObject) {
+            ((JsonObject) container).put(key, node);
+        } else {
+            ((JsonArray) container).add(node);
+        }
+    }
+}
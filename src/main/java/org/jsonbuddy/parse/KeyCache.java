@@ -0,0 +1,71 @@
+package org.jsonbuddy.parse;
+
+/**
+ * A bounded table of object keys, so that parsing a key that was seen before
+ * returns the same String instance instead of a new one. Repeated keys then
+ * cost no allocation, and map lookups with them are faster.
+ * <p>
+ * The cache is a fixed size hash table where a new key replaces the key in
+ * its slot. It is safe to share between threads, as a lost update only
+ * means that a key is created again. Long keys are not cached.
+ */
+public class KeyCache {
+
+    private static final int MAX_KEY_LENGTH = 64;
+
+    private static final KeyCache SHARED = new KeyCache(4096);
+
+    private final String[] keys;
+    private final int mask;
+
+    /**
+     * Creates a cache with room for at least the argument number of keys
+     */
+    public KeyCache(int size) {
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.keys = new String[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Returns the cache that is used by JsonParser unless another is configured
+     * with {@link ParserOptions#withKeyCache}
+     */
+    public static KeyCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the cached String with the argument characters, or adds a new one
+     */
+    String get(CharSequence chars) {
+        int length = chars.length();
+        if (length > MAX_KEY_LENGTH) {
+            return chars.toString();
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + chars.charAt(i);
+        }
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        String cached = keys[slot];
+        if (cached != null && cached.hashCode() == hash && contentEquals(cached, chars)) {
+            return cached;
+        }
+        String key = chars.toString();
+        keys[slot] = key;
+        return key;
+    }
+
+    private static boolean contentEquals(String cached, CharSequence chars) {
+        if (cached.length() != chars.length()) {
+            return false;
+        }
+        for (int i = 0; i < cached.length(); i++) {
+            if (cached.charAt(i) != chars.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
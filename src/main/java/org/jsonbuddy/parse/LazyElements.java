@@ -0,0 +1,93 @@
+package org.jsonbuddy.parse;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jsonbuddy.JsonNode;
+
+/**
+ * The storage of a JsonArray that is backed by the raw input and a
+ * {@link StructuralIndex}. Elements are decoded when they are accessed.
+ * Changing the array decodes all the elements into the compact storage of
+ * an ordinary JsonArray.
+ * <p>
+ * The index, the decoded elements and the tokenizer of the index are filled in
+ * without synchronization, so a lazy JsonArray is not thread-safe, even when
+ * it is only read. Use {@link org.jsonbuddy.JsonNode#freeze()} to get a copy
+ * that can be shared between threads.
+ */
+class LazyElements extends AbstractList<JsonNode> {
+
+    private final ByteBuffer input;
+    private final int position;
+    private final int limit;
+    private StructuralIndex index;
+    private JsonNode[] decoded;
+    private List<JsonNode> materialized;
+
+    LazyElements(StructuralIndex index) {
+        this(null, 0, 0);
+        this.index = index;
+    }
+
+    LazyElements(ByteBuffer input, int position, int limit) {
+        this.input = input;
+        this.position = position;
+        this.limit = limit;
+    }
+
+    @Override
+    public JsonNode get(int i) {
+        if (materialized != null) {
+            return materialized.get(i);
+        }
+        if (decoded == null) {
+            decoded = new JsonNode[index().size()];
+        }
+        if (decoded[i] == null) {
+            decoded[i] = index().lazyElement(i);
+        }
+        return decoded[i];
+    }
+
+    @Override
+    public int size() {
+        return materialized != null ? materialized.size() : index().size();
+    }
+
+    @Override
+    public JsonNode set(int i, JsonNode element) {
+        return materialize().set(i, element);
+    }
+
+    @Override
+    public void add(int i, JsonNode element) {
+        materialize().add(i, element);
+    }
+
+    @Override
+    public JsonNode remove(int i) {
+        return materialize().remove(i);
+    }
+
+    @Override
+    public void clear() {
+        materialized = NodeStorage.get().list(Collections.emptyList());
+    }
+
+    private StructuralIndex index() {
+        if (index == null) {
+            index = StructuralIndex.indexArray(input, position, limit);
+        }
+        return index;
+    }
+
+    private List<JsonNode> materialize() {
+        if (materialized == null) {
+            materialized = NodeStorage.get().list(this);
+        }
+        return materialized;
+    }
+}
@@ -0,0 +1,143 @@
+package org.jsonbuddy.parse;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.jsonbuddy.JsonNode;
+
+/**
+ * The storage of a JsonObject that is backed by the raw input and a
+ * {@link StructuralIndex}. Values are decoded when they are looked up.
+ * Iterating over the entries or changing the object decodes all the values
+ * into the compact storage of an ordinary JsonObject.
+ * <p>
+ * The index, the decoded values and the tokenizer of the index are filled in
+ * without synchronization, so a lazy JsonObject is not thread-safe, even when
+ * it is only read. Use {@link org.jsonbuddy.JsonNode#freeze()} to get a copy
+ * that can be shared between threads.
+ */
+class LazyMembers extends AbstractMap<String, JsonNode> {
+
+    private final ByteBuffer input;
+    private final int position;
+    private final int limit;
+    private StructuralIndex index;
+    private JsonNode[] decoded;
+    private Map<String, Integer> positions;
+    private Map<String, JsonNode> materialized;
+
+    LazyMembers(StructuralIndex index) {
+        this(null, 0, 0);
+        this.index = index;
+    }
+
+    LazyMembers(ByteBuffer input, int position, int limit) {
+        this.input = input;
+        this.position = position;
+        this.limit = limit;
+    }
+
+    @Override
+    public JsonNode get(Object key) {
+        if (materialized != null) {
+            return materialized.get(key);
+        }
+        int member = find(key);
+        return member < 0 ? null : value(member);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (materialized != null) {
+            return materialized.containsKey(key);
+        }
+        return find(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return materialized != null ? materialized.size() : positions().size();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return materialized != null ? materialized.keySet() : Collections.unmodifiableSet(positions().keySet());
+    }
+
+    @Override
+    public Set<Entry<String, JsonNode>> entrySet() {
+        return materialize().entrySet();
+    }
+
+    @Override
+    public JsonNode put(String key, JsonNode value) {
+        return materialize().put(key, value);
+    }
+
+    @Override
+    public JsonNode remove(Object key) {
+        return materialize().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        materialized = NodeStorage.get().map(0);
+    }
+
+    private StructuralIndex index() {
+        if (index == null) {
+            index = StructuralIndex.indexObject(input, position, limit);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the last member with the argument key, like a map would
+     */
+    private int find(Object key) {
+        if (!(key instanceof String)) {
+            return -1;
+        }
+        StructuralIndex index = index();
+        for (int member = index.size() - 1; member >= 0; member--) {
+            if (index.keyEquals(member, (String) key)) {
+                return member;
+            }
+        }
+        return -1;
+    }
+
+    private JsonNode value(int member) {
+        if (decoded == null) {
+            decoded = new JsonNode[index().size()];
+        }
+        if (decoded[member] == null) {
+            decoded[member] = index().lazyElement(member);
+        }
+        return decoded[member];
+    }
+
+    private Map<String, Integer> positions() {
+        if (positions == null) {
+            positions = new LinkedHashMap<>();
+            StructuralIndex index = index();
+            for (int member = 0; member < index.size(); member++) {
+                positions.put(index.key(member), member);
+            }
+        }
+        return positions;
+    }
+
+    private Map<String, JsonNode> materialize() {
+        if (materialized == null) {
+            Map<String, JsonNode> values = NodeStorage.get().map(positions().size());
+            positions().forEach((key, member) -> values.put(key, value(member)));
+            materialized = values;
+        }
+        return materialized;
+    }
+}
@@ -0,0 +1,54 @@
+package org.jsonbuddy.parse;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Supplies the bytes of a file to {@link Utf8Tokenizer} through memory mapped
+ * windows of the file. Only one window is mapped at a time, so files larger
+ * than 2 GB, the limit of a single mapping, are supported.
+ */
+class MappedFileSource implements Utf8Tokenizer.Source, Closeable {
+
+    static final long WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final long windowSize;
+    private final long size;
+    private long nextWindowStart;
+    private MappedByteBuffer window;
+
+    MappedFileSource(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.READ), WINDOW_SIZE);
+    }
+
+    MappedFileSource(FileChannel channel, long windowSize) throws IOException {
+        this.channel = channel;
+        this.windowSize = windowSize;
+        this.size = channel.size();
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (window == null || !window.hasRemaining()) {
+            if (nextWindowStart >= size) {
+                return -1;
+            }
+            long windowLength = Math.min(windowSize, size - nextWindowStart);
+            window = channel.map(FileChannel.MapMode.READ_ONLY, nextWindowStart, windowLength);
+            nextWindowStart += windowLength;
+        }
+        int count = Math.min(length, window.remaining());
+        window.get(buffer, offset, count);
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,66 @@
+package org.jsonbuddy.parse;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonNode;
+import org.jsonbuddy.JsonObject;
+
+/**
+ * Lets this package create JsonObjects and JsonArrays on top of its own
+ * storage, such as the lazy members of {@link StructuralIndex}, and the
+ * compact storage that lazy members are decoded into. The constructors and
+ * the storage classes are package-private in org.jsonbuddy, which installs
+ * the only implementation when JsonObject is initialized.
+ * This class is not part of the API.
+ */
+public abstract class NodeStorage {
+
+    private static NodeStorage instance;
+
+    /**
+     * Called by org.jsonbuddy when JsonObject is initialized
+     *
+     * @throws IllegalStateException if the storage is already installed
+     */
+    public static synchronized void install(NodeStorage storage) {
+        if (instance != null) {
+            throw new IllegalStateException("NodeStorage is already installed");
+        }
+        instance = storage;
+    }
+
+    static synchronized NodeStorage get() {
+        if (instance == null) {
+            try {
+                Class.forName(JsonObject.class.getName(), true, JsonObject.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Creates a JsonObject that stores its values in the argument map
+     */
+    protected abstract JsonObject object(Map<String, JsonNode> values);
+
+    /**
+     * Creates a JsonArray that stores its values in the argument list
+     */
+    protected abstract JsonArray array(List<JsonNode> values);
+
+    /**
+     * Creates an empty map of the kind that JsonObject stores its values in
+     */
+    protected abstract Map<String, JsonNode> map(int capacity);
+
+    /**
+     * Creates a list of the kind that JsonArray stores its values in, with the
+     * argument elements
+     */
+    protected abstract List<JsonNode> list(Collection<? extends JsonNode> elements);
+}
@@ -0,0 +1,101 @@
+package org.jsonbuddy.parse;
+
+/**
+ * Settings for {@link JsonParser}, for example
+ * <code>JsonParser.parse(input, new ParserOptions().withMaxDepth(64))</code>.
+ * The limits protect against malicious documents and are checked while
+ * the input is scanned.
+ * Options can be shared between threads when they are no longer changed.
+ */
+public class ParserOptions {
+
+    private KeyCache keyCache = KeyCache.shared();
+    private StringValueCache stringValueCache;
+    private int maxDepth = Integer.MAX_VALUE;
+    private int maxEntries = Integer.MAX_VALUE;
+    private int maxStringLength = Integer.MAX_VALUE;
+    private int maxNumberLength = Integer.MAX_VALUE;
+    private long maxTotalChars = Long.MAX_VALUE;
+
+    /**
+     * Sets the cache used to return the same String instance for repeated object
+     * keys. The default is {@link KeyCache#shared()}. Use a separate cache to
+     * keep the keys of different feeds apart, or null to create a new
+     * String for each key.
+     */
+    public ParserOptions withKeyCache(KeyCache keyCache) {
+        this.keyCache = keyCache;
+        return this;
+    }
+
+    /**
+     * Sets a cache that returns the same JsonString instance for repeated short
+     * string values. There is no string value cache by default.
+     */
+    public ParserOptions withStringValueCache(StringValueCache stringValueCache) {
+        this.stringValueCache = stringValueCache;
+        return this;
+    }
+
+    /**
+     * Sets the maximum nesting of objects and arrays. Deeper documents
+     * fail with JsonParseException. There is no limit by default.
+     */
+    public ParserOptions withMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of keys in an object or elements in an array.
+     * There is no limit by default.
+     */
+    public ParserOptions withMaxEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    /**
+     * Sets the maximum length of a string value or object key, in characters.
+     * There is no limit by default.
+     */
+    public ParserOptions withMaxStringLength(int maxStringLength) {
+        this.maxStringLength = maxStringLength;
+        return this;
+    }
+
+    /**
+     * Sets the maximum length of a number, in characters.
+     * There is no limit by default.
+     */
+    public ParserOptions withMaxNumberLength(int maxNumberLength) {
+        this.maxNumberLength = maxNumberLength;
+        return this;
+    }
+
+    /**
+     * Sets the maximum size of a document, in characters, or in bytes for
+     * UTF-8 input. The input is counted as it is read, so a document that is
+     * too large fails before it has been read completely.
+     * There is no limit by default.
+     */
+    public ParserOptions withMaxTotalChars(long maxTotalChars) {
+        this.maxTotalChars = maxTotalChars;
+        return this;
+    }
+
+    /**
+     * Applies the options to a tokenizer before it is used
+     */
+    JsonTokenizer configure(JsonTokenizer tokenizer) {
+        tokenizer.keyCache = keyCache;
+        tokenizer.stringValueCache = stringValueCache;
+        tokenizer.maxDepth = maxDepth;
+        tokenizer.maxEntries = maxEntries;
+        tokenizer.maxStringLength = maxStringLength;
+        tokenizer.maxNumberLength = maxNumberLength;
+        tokenizer.maxTotalChars = maxTotalChars;
+        tokenizer.countInput(0);
+        return tokenizer;
+    }
+}
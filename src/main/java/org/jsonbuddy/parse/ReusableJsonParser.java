@@ -0,0 +1,158 @@
+package org.jsonbuddy.parse;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.jsonbuddy.JsonNode;
+import org.jsonbuddy.JsonObject;
+
+/**
+ * A parser that is used for many documents, one at a time, and keeps its
+ * buffers between them. Use this instead of the static methods of
+ * {@link JsonParser} where many small documents are parsed on the same thread,
+ * for example the request bodies of a server.
+ * <p>
+ * A ReusableJsonParser is not thread safe. Either create one per thread, or use
+ * the parser returned by {@link #forCurrentThread()}.
+ */
+public class ReusableJsonParser {
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private static final ThreadLocal<ReusableJsonParser> THREAD_PARSER = ThreadLocal.withInitial(ReusableJsonParser::new);
+
+    private final ParserOptions options;
+    private Utf8Tokenizer bytes;
+    private JsonParser bytesParser;
+    private CharTokenizer chars;
+    private JsonParser charsParser;
+
+    /**
+     * Creates a parser with the default options
+     */
+    public ReusableJsonParser() {
+        this(new ParserOptions());
+    }
+
+    /**
+     * Creates a parser with the argument options. The options are applied
+     * when the parser creates its buffers.
+     */
+    public ReusableJsonParser(ParserOptions options) {
+        this.options = options;
+    }
+
+    /**
+     * Returns a parser with the default options for use by the current thread
+     */
+    public static ReusableJsonParser forCurrentThread() {
+        return THREAD_PARSER.get();
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes as a JsonNode
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public JsonNode parse(byte[] input) throws JsonParseException {
+        return parse(input, 0, input.length);
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes in the argument range as a JsonNode
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     * @throws IndexOutOfBoundsException if the range is outside the array
+     */
+    public JsonNode parse(byte[] input, int offset, int length) throws JsonParseException {
+        JsonParser parser = bytesParser();
+        bytes.reset(input, offset, length);
+        try {
+            return parser.parseValue();
+        } finally {
+            bytes.reset(NO_BYTES, 0, 0);
+        }
+    }
+
+    /**
+     * Parse the UTF-8 encoded InputStream as a JsonNode
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public JsonNode parse(InputStream inputStream) throws JsonParseException {
+        JsonParser parser = bytesParser();
+        bytes.reset(inputStream::read);
+        try {
+            return parser.parseValue();
+        } finally {
+            bytes.reset(NO_BYTES, 0, 0);
+        }
+    }
+
+    /**
+     * Parse the String as a JsonNode
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public JsonNode parse(String input) throws JsonParseException {
+        JsonParser parser = charsParser();
+        chars.reset(input);
+        try {
+            return parser.parseValue();
+        } finally {
+            chars.reset("");
+        }
+    }
+
+    /**
+     * Parse the reader as a JsonNode
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered
+     */
+    public JsonNode parse(Reader reader) throws JsonParseException {
+        JsonParser parser = charsParser();
+        chars.reset(reader);
+        try {
+            return parser.parseValue();
+        } finally {
+            chars.reset("");
+        }
+    }
+
+    /**
+     * Parse the UTF-8 encoded bytes as a JsonObject
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered,
+     *             or if the JSON was not a JsonObject
+     */
+    public JsonObject parseToObject(byte[] input) throws JsonParseException {
+        return JsonParser.toObject(parse(input));
+    }
+
+    /**
+     * Parse the String as a JsonObject
+     *
+     * @throws JsonParseException if a JSON syntax error was encountered,
+     *             or if the JSON was not a JsonObject
+     */
+    public JsonObject parseToObject(String input) throws JsonParseException {
+        return JsonParser.toObject(parse(input));
+    }
+
+    private JsonParser bytesParser() {
+        if (bytes == null) {
+            bytes = new Utf8Tokenizer(NO_BYTES, 0, 0);
+            bytesParser = new JsonParser(options.configure(bytes));
+        }
+        return bytesParser;
+    }
+
+    private JsonParser charsParser() {
+        if (chars == null) {
+            chars = new CharTokenizer(new StringReader(""));
+            charsParser = new JsonParser(options.configure(chars));
+        }
+        return charsParser;
+    }
+}
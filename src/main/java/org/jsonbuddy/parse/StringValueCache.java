@@ -0,0 +1,78 @@
+package org.jsonbuddy.parse;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jsonbuddy.JsonString;
+
+/**
+ * A bounded table of string values, so that parsing a short string that was
+ * seen before returns the same immutable JsonString instead of a new one.
+ * Use this for enum-like values such as status codes, currencies and country
+ * codes in documents that are kept in memory. Enable it with
+ * {@link ParserOptions#withStringValueCache}.
+ * <p>
+ * The cache is a fixed size hash table where a new value replaces the value in
+ * its slot. It is safe to share between threads. Values longer than the
+ * maximum length are not cached or counted.
+ */
+public class StringValueCache {
+
+    private final JsonString[] values;
+    private final int mask;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a cache with room for at least the argument number of values
+     * of at most 32 characters
+     */
+    public StringValueCache(int size) {
+        this(size, 32);
+    }
+
+    /**
+     * Creates a cache with room for at least the argument number of values
+     * of at most maxLength characters
+     */
+    public StringValueCache(int size, int maxLength) {
+        int capacity = Integer.highestOneBit(Math.max(size - 1, 1)) << 1;
+        this.values = new JsonString[capacity];
+        this.mask = capacity - 1;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Returns the number of values that were found in the cache
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of values that were added to the cache
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the cached JsonString with the argument value, or adds a new one
+     */
+    JsonString get(String value) {
+        if (value.length() > maxLength) {
+            return new JsonString(value);
+        }
+        int hash = value.hashCode();
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        JsonString cached = values[slot];
+        if (cached != null && cached.stringValue().equals(value)) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        JsonString jsonString = new JsonString(value);
+        values[slot] = jsonString;
+        return jsonString;
+    }
+}
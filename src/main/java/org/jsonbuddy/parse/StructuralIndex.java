@@ -0,0 +1,417 @@
+package org.jsonbuddy.parse;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.jsonbuddy.JsonNode;
+
+/**
+ * The positions of the members of a JSON object or array in UTF-8 encoded
+ * input, found by a quick structural scan that only tracks strings and nesting.
+ * The index stores the start and end of each value, and for objects the
+ * start and end of each key. The members can then be parsed separately,
+ * either in parallel or only when they are needed.
+ */
+class StructuralIndex {
+
+    private static final String ARRAY_NOT_CLOSED = "Expected , or ] in array";
+    private static final String OBJECT_NOT_CLOSED = "JsonObject not closed. Expected }";
+
+    private final ByteBuffer input;
+    private final ByteBuffer words;
+    private final boolean object;
+    private final int stride;
+    private int[] offsets;
+    private String[] keys;
+    private int count;
+
+    /** Moved from key to key and value to value when members are decoded one at a time */
+    private Utf8Tokenizer tokenizer;
+    private JsonParser parser;
+    private JsonTreeBuilder builder;
+
+    private StructuralIndex(ByteBuffer input, boolean object) {
+        this.input = input;
+        this.words = input.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.object = object;
+        this.stride = object ? 4 : 2;
+        this.offsets = new int[16 * stride];
+    }
+
+    /**
+     * Finds the elements of the array that starts right before the argument position
+     */
+    static StructuralIndex indexArray(ByteBuffer input, int position, int limit) throws JsonParseException {
+        StructuralIndex index = new StructuralIndex(input, false);
+        index.scanArray(position, limit);
+        return index;
+    }
+
+    /**
+     * Finds the keys and values of the object that starts right before the argument position
+     */
+    static StructuralIndex indexObject(ByteBuffer input, int position, int limit) throws JsonParseException {
+        StructuralIndex index = new StructuralIndex(input, true);
+        index.scanObject(position, limit);
+        return index;
+    }
+
+    /**
+     * Returns a JsonNode for the value in the remaining bytes of the input, where
+     * objects and arrays decode their members when they are accessed.
+     * Returns null if the input is empty.
+     */
+    static JsonNode parseLazy(ByteBuffer input) throws JsonParseException {
+        int position = skipWhitespace(input, input.position(), input.limit());
+        if (position < input.limit() && input.get(position) == '{') {
+            return NodeStorage.get().object(new LazyMembers(indexObject(input, position + 1, input.limit())));
+        } else if (position < input.limit() && input.get(position) == '[') {
+            return NodeStorage.get().array(new LazyElements(indexArray(input, position + 1, input.limit())));
+        }
+        return new JsonParser(Utf8Tokenizer.of(input.duplicate())).parseValue();
+    }
+
+    int size() {
+        return count;
+    }
+
+    /**
+     * Returns the key of the member at the argument position of an object index
+     */
+    String key(int member) {
+        if (keys == null) {
+            keys = new String[count];
+        }
+        if (keys[member] == null) {
+            int keyStart = offsets[member * stride + 2];
+            int keyEnd = offsets[member * stride + 3];
+            tokenizer = tokenizer(tokenizer, keyStart, keyEnd + 1);
+            keys[member] = tokenizer.readKey();
+        }
+        return keys[member];
+    }
+
+    /**
+     * Returns true if the key of the member at the argument position is equal to
+     * the argument. The raw bytes are compared without decoding the key. Only
+     * malformed keys are decoded, so they compare like {@link #key} returns them.
+     */
+    boolean keyEquals(int member, String key) {
+        int position = offsets[member * stride + 2];
+        int keyEnd = offsets[member * stride + 3];
+        int i = 0;
+        while (position < keyEnd) {
+            byte b = input.get(position);
+            int c;
+            if (b >= 0 && b != '\\') {
+                c = b;
+                position++;
+            } else {
+                int length = b == '\\' ? escapeLength(position, keyEnd) : utf8Length(b);
+                c = length == 0 || position + length > keyEnd ? -1
+                        : b == '\\' ? unescape(position, length) : decodeUtf8(position, length);
+                if (c < 0) {
+                    return key(member).equals(key);
+                }
+                position += length;
+            }
+            if (c >= Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                if (i + 2 > key.length() || key.charAt(i) != Character.highSurrogate(c)
+                        || key.charAt(i + 1) != Character.lowSurrogate(c)) {
+                    return false;
+                }
+                i += 2;
+            } else if (i == key.length() || key.charAt(i++) != c) {
+                return false;
+            }
+        }
+        return i == key.length();
+    }
+
+    private int escapeLength(int position, int keyEnd) {
+        if (position + 1 >= keyEnd) {
+            return 0;
+        }
+        return input.get(position + 1) == 'u' ? 6 : 2;
+    }
+
+    /**
+     * Returns the character of the escape sequence at the position, or -1
+     * if the tokenizer would not decode it to a single character
+     */
+    private int unescape(int position, int length) {
+        byte escaped = input.get(position + 1);
+        switch (escaped) {
+            case '"':
+            case '\\':
+            case '/':
+                return escaped;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int c = 0;
+                for (int i = 2; i < length; i++) {
+                    int digit = Character.digit(input.get(position + i), 16);
+                    if (digit < 0) {
+                        return -1;
+                    }
+                    c = (c << 4) | digit;
+                }
+                return c;
+            default:
+                return -1;
+        }
+    }
+
+    private static int utf8Length(byte lead) {
+        int b = lead & 0xff;
+        return b >= 0xF0 ? 4 : b >= 0xE0 ? 3 : b >= 0xC0 ? 2 : 0;
+    }
+
+    /**
+     * Returns the code point of the UTF-8 sequence at the position, decoded
+     * like {@link Utf8Tokenizer} does, or -1 if the sequence is malformed
+     */
+    private int decodeUtf8(int position, int length) {
+        int codePoint = input.get(position) & (0x7F >> length);
+        for (int i = 1; i < length; i++) {
+            int continuation = input.get(position + i);
+            if ((continuation & 0xC0) != 0x80) {
+                return -1;
+            }
+            codePoint = (codePoint << 6) | (continuation & 0x3F);
+        }
+        return Character.isValidCodePoint(codePoint) ? codePoint : -1;
+    }
+
+    /**
+     * Parses the value of the member at the argument position of the index
+     *
+     * @throws JsonParseException if the value is not a single valid value
+     */
+    JsonNode parseElement(int member) throws JsonParseException {
+        tokenizer = tokenizer(tokenizer, offsets[member * stride], offsets[member * stride + 1]);
+        if (parser == null) {
+            parser = new JsonParser(tokenizer);
+            builder = new JsonTreeBuilder();
+        }
+        return parseSingleValue(parser, tokenizer, builder);
+    }
+
+    /**
+     * Returns the value of the member at the argument position of the index,
+     * where objects and arrays are indexed when they are first accessed
+     */
+    JsonNode lazyElement(int member) throws JsonParseException {
+        int start = offsets[member * stride];
+        int limit = offsets[member * stride + 1];
+        byte b = input.get(start);
+        if (b == '{') {
+            return NodeStorage.get().object(new LazyMembers(input, start + 1, limit));
+        } else if (b == '[') {
+            return NodeStorage.get().array(new LazyElements(input, start + 1, limit));
+        }
+        return parseElement(member);
+    }
+
+    /**
+     * Parses the values of the members from the first up to, but not including,
+     * the last argument. One tokenizer is moved from member to member.
+     *
+     * @throws JsonParseException if a value is not a single valid value
+     */
+    List<JsonNode> parseElements(int from, int to) throws JsonParseException {
+        List<JsonNode> result = new ArrayList<>(to - from);
+        Utf8Tokenizer tokenizer = null;
+        JsonParser parser = null;
+        JsonTreeBuilder builder = new JsonTreeBuilder();
+        for (int member = from; member < to; member++) {
+            tokenizer = tokenizer(tokenizer, offsets[member * stride], offsets[member * stride + 1]);
+            if (parser == null) {
+                parser = new JsonParser(tokenizer);
+            }
+            result.add(parseSingleValue(parser, tokenizer, builder));
+        }
+        return result;
+    }
+
+    private JsonNode parseSingleValue(JsonParser parser, JsonTokenizer tokenizer, JsonTreeBuilder builder) {
+        builder.reset();
+        parser.parseValue(builder);
+        JsonNode value = builder.result();
+        tokenizer.skipWhitespace();
+        if (!tokenizer.finished()) {
+            throw new JsonParseException(object ? OBJECT_NOT_CLOSED : ARRAY_NOT_CLOSED);
+        }
+        return value;
+    }
+
+    /**
+     * Moves the tokenizer to the argument range of the input, or creates
+     * a tokenizer for the range if there is none yet
+     */
+    private Utf8Tokenizer tokenizer(Utf8Tokenizer tokenizer, int start, int end) {
+        if (input.hasArray()) {
+            if (tokenizer == null) {
+                return new Utf8Tokenizer(input.array(), input.arrayOffset() + start, end - start);
+            }
+            tokenizer.reset(input.array(), input.arrayOffset() + start, end - start);
+            return tokenizer;
+        }
+        ByteBuffer range = input.duplicate();
+        range.limit(end).position(start);
+        if (tokenizer == null) {
+            return new Utf8Tokenizer(Utf8Tokenizer.sourceOf(range));
+        }
+        tokenizer.reset(Utf8Tokenizer.sourceOf(range));
+        return tokenizer;
+    }
+
+    private void scanArray(int position, int limit) {
+        while (true) {
+            position = skipWhitespace(input, position, limit);
+            if (position >= limit) {
+                throw new JsonParseException(ARRAY_NOT_CLOSED);
+            }
+            byte b = input.get(position);
+            if (b == ']') {
+                return;
+            } else if (b == ',') {
+                throw new JsonParseException("Unexpected character ','");
+            }
+            add(position);
+            position = scanValue(position, limit, (byte) ']', ARRAY_NOT_CLOSED);
+            if (input.get(position) == ']') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    private void scanObject(int position, int limit) {
+        while (true) {
+            position = skipWhitespace(input, position, limit);
+            if (position >= limit || (input.get(position) != '}' && input.get(position) != '"')) {
+                throw new JsonParseException(OBJECT_NOT_CLOSED);
+            }
+            if (input.get(position) == '}') {
+                return;
+            }
+            int keyStart = position + 1;
+            position = skipString(keyStart, limit);
+            int keyEnd = position - 1;
+            position = skipWhitespace(input, position, limit);
+            if (position >= limit || input.get(position) != ':') {
+                throw new JsonParseException("Expected value for objectkey " + decodeKey(keyStart, keyEnd));
+            }
+            position = skipWhitespace(input, position + 1, limit);
+            if (position >= limit) {
+                throw new JsonParseException("Expected value for key " + decodeKey(keyStart, keyEnd));
+            }
+            byte b = input.get(position);
+            if (b == ',' || b == '}') {
+                throw new JsonParseException("Unexpected character '" + (char) b + "'");
+            }
+            add(position);
+            offsets[count * stride - 2] = keyStart;
+            offsets[count * stride - 1] = keyEnd;
+            position = scanValue(position, limit, (byte) '}', OBJECT_NOT_CLOSED);
+            if (input.get(position) == '}') {
+                return;
+            }
+            position++;
+        }
+    }
+
+    /**
+     * Finds the end of the value of the last added member and returns the
+     * position of the separator or closing character after it
+     */
+    private int scanValue(int position, int limit, byte closer, String notClosed) {
+        int depth = 0;
+        boolean containerClosed = false;
+        int valueEnd = position;
+        while (position < limit) {
+            byte b = input.get(position);
+            if (isWhitespace(b)) {
+                position++;
+                continue;
+            }
+            if (depth == 0 && (b == ',' || b == closer)) {
+                offsets[count * stride - stride + 1] = valueEnd;
+                return position;
+            }
+            if (depth == 0 && containerClosed) {
+                throw new JsonParseException(notClosed);
+            }
+            if (b == '"') {
+                position = skipString(position + 1, limit);
+            } else {
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    if (depth == 0) {
+                        throw new JsonParseException(notClosed);
+                    }
+                    containerClosed = --depth == 0;
+                }
+                position++;
+            }
+            valueEnd = position;
+        }
+        throw new JsonParseException(notClosed);
+    }
+
+    /**
+     * Returns the position after the closing quote of the string
+     */
+    private int skipString(int position, int limit) {
+        while (true) {
+            position = CharacterClasses.indexOfStringRunEnd(words, position, limit);
+            if (position >= limit) {
+                break;
+            }
+            byte b = input.get(position);
+            if (b == '"') {
+                return position + 1;
+            }
+            position += (b == '\\') ? 2 : 1;
+        }
+        throw new JsonParseException("JsonString not closed. Expected \"");
+    }
+
+    private String decodeKey(int keyStart, int keyEnd) {
+        tokenizer = tokenizer(tokenizer, keyStart, keyEnd + 1);
+        return tokenizer.readString();
+    }
+
+    static int skipWhitespace(ByteBuffer input, int position, int limit) {
+        while (position < limit && isWhitespace(input.get(position))) {
+            position++;
+        }
+        return position;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private void add(int start) {
+        if ((count + 1) * stride > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        offsets[count * stride] = start;
+        count++;
+    }
+}
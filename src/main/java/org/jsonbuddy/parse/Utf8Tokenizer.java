@@ -0,0 +1,263 @@
+package org.jsonbuddy.parse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Tokenizes UTF-8 encoded bytes without decoding them to characters first.
+ * All structural characters of JSON are ASCII, so bytes are only decoded
+ * inside string values, with a fast path for runs of ASCII.
+ * <p>
+ * The input is either a fixed byte array range, which is scanned in place,
+ * or a {@link Source} which is read into an internal byte[] window.
+ */
+class Utf8Tokenizer extends JsonTokenizer {
+
+    static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Supplies bytes to the tokenizer with the same contract as
+     * {@link InputStream#read(byte[], int, int)}.
+     */
+    interface Source {
+        int read(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    private Source source;
+    private byte[] window;
+    private byte[] buffer;
+    private ByteBuffer words;
+    private int position;
+    private int limit;
+    private boolean endOfInput;
+
+    /**
+     * Scratch space for decoding ASCII runs. Starts small, so that short
+     * documents stay cheap, and grows up to BUFFER_SIZE for long strings.
+     */
+    private char[] chars = new char[64];
+
+    Utf8Tokenizer(byte[] input, int offset, int length) {
+        reset(input, offset, length);
+    }
+
+    /**
+     * Moves the tokenizer to a new byte array range, which is scanned in place
+     */
+    void reset(byte[] input, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > input.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length + " for array of " + input.length);
+        }
+        this.source = null;
+        this.buffer = input;
+        this.words = wordsOf(input);
+        this.position = offset;
+        this.limit = offset + length;
+        resetInputCount();
+        countInput(length);
+    }
+
+    private ByteBuffer wordsOf(byte[] input) {
+        if (words != null && words.array() == input) {
+            return words;
+        }
+        return ByteBuffer.wrap(input).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Returns the offset of the cursor in the byte array. Only meaningful
+     * for tokenizers created from a byte array.
+     */
+    int position() {
+        return position;
+    }
+
+    Utf8Tokenizer(Source source) {
+        reset(source);
+    }
+
+    /**
+     * Moves the tokenizer to a new source, keeping the window buffer
+     */
+    void reset(Source source) {
+        if (window == null) {
+            window = new byte[BUFFER_SIZE];
+        }
+        this.source = source;
+        this.buffer = window;
+        this.words = wordsOf(window);
+        this.position = this.limit = 0;
+        this.endOfInput = false;
+        resetInputCount();
+    }
+
+    Utf8Tokenizer(InputStream inputStream) {
+        this(inputStream::read);
+    }
+
+    /**
+     * Reads the remaining bytes of the buffer without modifying its position.
+     * Heap buffers are scanned in place, other buffers are copied in windows.
+     */
+    static Utf8Tokenizer of(ByteBuffer byteBuffer) {
+        if (byteBuffer.hasArray()) {
+            return new Utf8Tokenizer(byteBuffer.array(),
+                    byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+        }
+        return new Utf8Tokenizer(sourceOf(byteBuffer.duplicate()));
+    }
+
+    /**
+     * Returns a Source that reads the remaining bytes of the buffer
+     */
+    static Source sourceOf(ByteBuffer input) {
+        return (buffer, offset, length) -> {
+            if (!input.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, input.remaining());
+            input.get(buffer, offset, count);
+            return count;
+        };
+    }
+
+    /**
+     * Reads the next window of input into the buffer. The window is only
+     * refilled when more input is needed, so a value that has been parsed
+     * never waits for the input that follows it. When the input is
+     * exhausted, position == limit from then on.
+     *
+     * @return false if there is no more input
+     */
+    private boolean fill() {
+        if (source == null) {
+            position = limit;
+            return false;
+        }
+        position = 0;
+        limit = Math.max(read(0), 0);
+        return limit > 0;
+    }
+
+    private int read(int offset) {
+        if (endOfInput) {
+            return -1;
+        }
+        try {
+            int read;
+            do {
+                read = source.read(buffer, offset, buffer.length - offset);
+            } while (read == 0);
+            if (read > 0) {
+                countInput(read);
+            } else {
+                endOfInput = true;
+            }
+            return read;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Makes sure that at least count bytes are available in the window
+     * by moving the remaining bytes to the start of the buffer and reading more.
+     *
+     * @return false if the input ends before count bytes are available
+     */
+    private boolean ensureAvailable(int count) {
+        if (limit - position >= count) {
+            return true;
+        }
+        if (source == null) {
+            return false;
+        }
+        System.arraycopy(buffer, position, buffer, 0, limit - position);
+        limit -= position;
+        position = 0;
+        while (limit < count) {
+            int read = read(limit);
+            if (read < 0) {
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+
+    @Override
+    boolean finished() {
+        return position >= limit && !fill();
+    }
+
+    @Override
+    char current() {
+        return (char) (buffer[position] & 0xff);
+    }
+
+    @Override
+    void advance() {
+        position++;
+    }
+
+    @Override
+    protected void appendStringRun(StringBuilder target) {
+        while (true) {
+            int end = Math.min(limit, position + chars.length);
+            int runEnd = CharacterClasses.indexOfStringRunEnd(words, position, end);
+            int count = runEnd - position;
+            for (int i = 0; i < count; i++) {
+                chars[i] = (char) buffer[position + i];
+            }
+            position = runEnd;
+            target.append(chars, 0, count);
+            if (count == chars.length && chars.length < BUFFER_SIZE) {
+                chars = new char[chars.length * 2];
+            }
+            if (target.length() > maxStringLength) {
+                return;
+            } else if (position >= limit) {
+                if (finished()) {
+                    return;
+                }
+            } else if (buffer[position] < 0) {
+                appendMultiByteCharacter(target);
+            } else if (position < end) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Decodes the multi-byte UTF-8 sequence at the cursor. Malformed
+     * sequences are replaced with U+FFFD, like {@link java.io.InputStreamReader} does.
+     */
+    private void appendMultiByteCharacter(StringBuilder target) {
+        int lead = buffer[position] & 0xff;
+        int length = lead >= 0xF0 ? 4 : lead >= 0xE0 ? 3 : lead >= 0xC0 ? 2 : 1;
+        if (length == 1 || !ensureAvailable(length)) {
+            target.append('\uFFFD');
+            advance();
+            return;
+        }
+        int codePoint = lead & (0x7F >> length);
+        for (int i = 1; i < length; i++) {
+            int continuation = buffer[position + i];
+            if ((continuation & 0xC0) != 0x80) {
+                target.append('\uFFFD');
+                advance();
+                return;
+            }
+            codePoint = (codePoint << 6) | (continuation & 0x3F);
+        }
+        if (!Character.isValidCodePoint(codePoint)) {
+            target.append('\uFFFD');
+        } else {
+            target.appendCodePoint(codePoint);
+        }
+        position += length - 1;
+        advance();
+    }
+}
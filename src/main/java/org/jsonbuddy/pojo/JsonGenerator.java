@@ -64,7 +64,7 @@ public class JsonGenerator {
 
     private JsonNode generateNode(Object object, Optional<Class> declaringClass) {
         if (object == null) {
-            return new JsonNull();
+            return JsonFactory.jsonNull();
         }
         if (object instanceof JsonNode) {
             return (JsonNode) object;
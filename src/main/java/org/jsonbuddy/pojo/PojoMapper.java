@@ -168,7 +168,7 @@ public class PojoMapper {
         JsonNode nodeValue = jsonObject.value(key).get();
         if (Optional.class.equals(declaredField.getType())) {
             Optional<?> optionalValue;
-            if (nodeValue.equals(new JsonNull())) {
+            if (nodeValue instanceof JsonNull) {
                 optionalValue = Optional.empty();
             } else {
                 String typeName = declaredField.getGenericType().getTypeName();
@@ -321,7 +321,7 @@ public class PojoMapper {
         } else if (Optional.class.equals(setterClass)) {
             JsonNode nodeValue = jsonObject.value(key).get();
             Optional<?> optionalValue;
-            if (nodeValue.equals(new JsonNull())) {
+            if (nodeValue instanceof JsonNull) {
                 optionalValue = Optional.empty();
             } else {
                 String typeName = method.getParameters()[0].getParameterizedType().getTypeName();
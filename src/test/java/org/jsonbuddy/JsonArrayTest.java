@@ -219,4 +219,84 @@ public class JsonArrayTest {
         assertThat(a.objects(n -> n.requiredString("number"))).containsExactly("one","two");
 
     }
+
+    @Test
+    public void shouldStoreNumericArraysAsPrimitives() throws Exception {
+        JsonArray longs = JsonArray.fromLongs(1, 2, Long.MAX_VALUE);
+        assertThat(longs).isEqualTo(new JsonArray().add(1L).add(2L).add(Long.MAX_VALUE));
+        assertThat(longs.requiredLong(2)).isEqualTo(Long.MAX_VALUE);
+        assertThat(longs.requiredDouble(0)).isEqualTo(1.0);
+        assertThat(longs.longStream()).containsExactly(1L, 2L, Long.MAX_VALUE);
+        assertThat(longs.toJson()).isEqualTo("[1,2,9223372036854775807]");
+        assertThatThrownBy(() -> longs.requiredLong(3)).isInstanceOf(JsonValueNotPresentException.class);
+
+        JsonArray doubles = JsonArray.fromDoubles(0.5, -2.25);
+        assertThat(doubles).isEqualTo(JsonParser.parse("[0.5, -2.25]"));
+        assertThat(doubles.doubleStream()).containsExactly(0.5, -2.25);
+        assertThat(doubles.longStream()).containsExactly(0L, -2L);
+        assertThat(doubles).isNotEqualTo(JsonArray.fromLongs(0, -2));
+    }
+
+    @Test
+    public void shouldKeepValuesWhenNumericArrayGetsOtherTypes() throws Exception {
+        JsonArray array = JsonParser.parseToArray("[1, 2, 3]");
+        array.add(4.5);
+        array.add("five");
+        array.set(0, new JsonObject());
+        assertThat(array.toJson()).isEqualTo("[{},2,3,4.5,\"five\"]");
+        assertThat(array.remove(1)).isEqualTo(new JsonNumber(2L));
+        assertThat(array.size()).isEqualTo(4);
+
+        array.clear();
+        array.add(7.5);
+        array.add(8.5);
+        array.set(1, 9.5);
+        assertThat(array.doubleStream()).containsExactly(7.5, 9.5);
+        assertThat(array.subList(1, 2)).isEqualTo(JsonArray.fromDoubles(9.5));
+        assertThat(array.deepClone()).isEqualTo(array);
+    }
+
+    @Test
+    public void shouldConvertMixedArraysToNumberStreams() throws Exception {
+        JsonArray array = new JsonArray().add(1L).add("2.5").add(3.5);
+        assertThat(array.doubleStream()).containsExactly(1.0, 2.5, 3.5);
+        assertThat(array.longStream()).containsExactly(1L, 2L, 3L);
+        assertThatThrownBy(() -> new JsonArray().add(new JsonObject()).longStream().sum())
+            .isInstanceOf(JsonConversionException.class);
+    }
+
+    @Test
+    public void shouldFreezeArrays() throws Exception {
+        JsonArray original = JsonParser.parseToArray("[{\"name\":\"Darth\"},[1,2],\"text\"]");
+        JsonArray frozen = original.freeze();
+        assertThat(frozen).isEqualTo(original);
+        assertThat(frozen.isFrozen()).isTrue();
+        assertThat(frozen.deepClone()).isSameAs(frozen);
+        assertThat(frozen.requiredObject(0).isFrozen()).isTrue();
+        assertThatThrownBy(() -> frozen.add("more")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozen.set(2, "other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozen.remove(0)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozen.requiredArray(1).add(3L)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozen.requiredObject(0).put("name", "Luke"))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        JsonArray numbers = JsonArray.fromLongs(1, 2, 3).freeze();
+        assertThat(numbers.longStream()).containsExactly(1L, 2L, 3L);
+        assertThatThrownBy(() -> numbers.set(0, 9L)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void shouldShareUnchangedElementsInModifiedCopies() throws Exception {
+        JsonArray frozen = new JsonArray().add(new JsonObject().put("name", "Darth")).add("text").freeze();
+        JsonArray changed = frozen.with(1, "other").withAdded(3L);
+        assertThat(changed.isFrozen()).isTrue();
+        assertThat(changed).isEqualTo(new JsonArray().add(new JsonObject().put("name", "Darth")).add("other").add(3L));
+        assertThat(changed.requiredObject(0)).isSameAs(frozen.requiredObject(0));
+        assertThat(frozen.requiredString(1)).isEqualTo("text");
+
+        assertThat(changed.without(0)).isEqualTo(new JsonArray().add("other").add(3L));
+        assertThat(changed.size()).isEqualTo(3);
+        assertThat(JsonArray.fromLongs(1, 2).withAdded(3L).longStream()).containsExactly(1L, 2L, 3L);
+        assertThatThrownBy(() -> frozen.without(2)).isInstanceOf(JsonValueNotPresentException.class);
+    }
 }
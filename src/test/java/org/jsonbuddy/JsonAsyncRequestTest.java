@@ -0,0 +1,103 @@
+package org.jsonbuddy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.jsonbuddy.parse.JsonHttpException;
+import org.jsonbuddy.parse.JsonParseException;
+import org.jsonbuddy.parse.JsonParser;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+public class JsonAsyncRequestTest {
+
+    private HttpServer server;
+    private ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @Before
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        respond("/json", 200, "application/json", "{\"slideshow\":{\"title\":\"Sample\",\"slides\":[1,2]}}");
+        respond("/json-error", 405, "application/json; charset=utf-8", "{\"error\":\"invalid_request\"}");
+        respond("/text-error", 500, "text/html", "<p>Internal error</p>");
+        respond("/array", 200, "application/json", "[1,2]");
+        server.start();
+    }
+
+    @After
+    public void stopServer() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldGetJson() throws Exception {
+        JsonObject o = JsonParser.parseToObjectAsync(url("/json"), executor).get();
+        assertThat(o.requiredObject("slideshow").requiredString("title")).isEqualTo("Sample");
+
+        JsonObject fromConnection = JsonParser.parseToObjectAsync(url("/json").openConnection(), executor).get();
+        assertThat(fromConnection).isEqualTo(o);
+    }
+
+    @Test
+    public void shouldHandleJsonInErrors() throws Exception {
+        CompletableFuture<JsonObject> result = JsonParser.parseToObjectAsync(url("/json-error"), executor);
+        assertThatThrownBy(result::get)
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(JsonHttpException.class);
+        JsonHttpException exception = cause(result);
+        assertThat(exception.getMessage()).contains("405").contains(url("/json-error").toString());
+        assertThat(exception.getJsonError()).isEqualTo(new JsonObject().put("error", "invalid_request"));
+    }
+
+    @Test
+    public void shouldHandleTextInErrors() throws Exception {
+        JsonHttpException exception = cause(JsonParser.parseToObjectAsync(url("/text-error"), executor));
+        assertThat(exception.getMessage()).contains("500");
+        assertThat(exception.getErrorContent()).isEqualTo("<p>Internal error</p>");
+    }
+
+    @Test
+    public void shouldRejectNonObjects() throws Exception {
+        CompletableFuture<JsonObject> result = JsonParser.parseToObjectAsync(url("/array"), executor);
+        assertThatThrownBy(result::get).hasCauseInstanceOf(JsonParseException.class);
+    }
+
+    private void respond(String path, int status, String contentType, String body) {
+        server.createContext(path, exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(bytes);
+            }
+        });
+    }
+
+    private URL url(String path) throws IOException {
+        return new URL("http://localhost:" + server.getAddress().getPort() + path);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> T cause(CompletableFuture<?> future) throws InterruptedException {
+        try {
+            future.get();
+        } catch (ExecutionException e) {
+            return (T) e.getCause();
+        }
+        throw new AssertionError("Expected " + future + " to fail");
+    }
+}
@@ -5,6 +5,10 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
 
 import org.jsonbuddy.parse.JsonParser;
 import org.junit.Test;
@@ -196,4 +200,94 @@ public class JsonObjectTest {
         assertThatThrownBy(() -> o.booleanValue("object"))
             .hasMessageContaining("not boolean");
     }
+
+    @Test
+    public void shouldBehaveLikeLinkedHashMapForAnySize() throws Exception {
+        Random random = new Random(17);
+        for (int round = 0; round < 200; round++) {
+            JsonObject object = new JsonObject();
+            Map<String, JsonNode> expected = new LinkedHashMap<>();
+            for (int operation = 0; operation < 60; operation++) {
+                String key = "key" + random.nextInt(30);
+                if (random.nextInt(4) == 0) {
+                    assertThat(object.remove(key)).isEqualTo(Optional.ofNullable(expected.remove(key)));
+                } else {
+                    object.put(key, (long) operation);
+                    expected.put(key, new JsonNumber((long) operation));
+                }
+                assertThat(object.keys()).containsExactlyElementsOf(expected.keySet());
+                assertThat(object.size()).isEqualTo(expected.size());
+            }
+            for (int i = 0; i < 30; i++) {
+                assertThat(object.value("key" + i)).isEqualTo(Optional.ofNullable(expected.get("key" + i)));
+                assertThat(object.containsKey("key" + i)).isEqualTo(expected.containsKey("key" + i));
+            }
+            JsonObject copy = JsonParser.parseToObject(object.toJson());
+            assertThat(copy).isEqualTo(object);
+            assertThat(copy.hashCode()).isEqualTo(object.hashCode());
+            assertThat(object.deepClone().keys()).containsExactlyElementsOf(expected.keySet());
+        }
+    }
+
+    @Test
+    public void shouldKeepPositionWhenReplacingValues() throws Exception {
+        JsonObject object = new JsonObject();
+        for (int i = 0; i < 20; i++) {
+            object.put("k" + i, i);
+        }
+        object.put("k3", "replaced");
+        object.remove("k0");
+        assertThat(object.keys()).startsWith("k1", "k2", "k3", "k4").endsWith("k19").hasSize(19);
+        assertThat(object.requiredString("k3")).isEqualTo("replaced");
+
+        object.keys().removeIf(key -> !key.equals("k3"));
+        assertThat(object).isEqualTo(new JsonObject().put("k3", "replaced"));
+        object.clear();
+        assertThat(object.isEmpty()).isTrue();
+        assertThat(object.value("k3")).isEmpty();
+    }
+
+    @Test
+    public void shouldFreezeObjectTrees() throws Exception {
+        JsonObject original = JsonParser.parseToObject("{\"name\":\"Darth\",\"address\":{\"planet\":\"Tatooine\"},\"ids\":[1,2]}");
+        JsonObject frozen = original.freeze();
+        assertThat(frozen).isEqualTo(original);
+        assertThat(frozen.isFrozen()).isTrue();
+        assertThat(original.isFrozen()).isFalse();
+        assertThat(frozen.freeze()).isSameAs(frozen);
+        assertThat(frozen.deepClone()).isSameAs(frozen);
+        assertThat(frozen.requiredObject("address").isFrozen()).isTrue();
+
+        assertThatThrownBy(() -> frozen.put("name", "Luke")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozen.remove("name")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozen.keys().clear()).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozen.requiredObject("address").put("planet", "Hoth"))
+            .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> frozen.requiredArray("ids").add(3))
+            .isInstanceOf(UnsupportedOperationException.class);
+
+        original.requiredObject("address").put("planet", "Hoth");
+        assertThat(frozen.requiredObject("address").requiredString("planet")).isEqualTo("Tatooine");
+        assertThat(frozen.deepClone().isFrozen()).isTrue();
+        assertThat(original.deepClone().isFrozen()).isFalse();
+    }
+
+    @Test
+    public void shouldShareUnchangedMembersInModifiedCopies() throws Exception {
+        JsonObject frozen = new JsonObject()
+                .put("name", "Darth")
+                .put("address", new JsonObject().put("planet", "Tatooine"))
+                .freeze();
+        JsonObject renamed = frozen.with("name", "Luke");
+        assertThat(renamed.isFrozen()).isTrue();
+        assertThat(renamed.requiredString("name")).isEqualTo("Luke");
+        assertThat(renamed.keys()).containsExactly("name", "address");
+        assertThat(renamed.requiredObject("address")).isSameAs(frozen.requiredObject("address"));
+        assertThat(frozen.requiredString("name")).isEqualTo("Darth");
+
+        JsonObject withoutAddress = renamed.without("address").with("children", new JsonArray().add("Luke"));
+        assertThat(withoutAddress).isEqualTo(new JsonObject().put("name", "Luke").put("children", new JsonArray().add("Luke")));
+        assertThat(withoutAddress.requiredArray("children").isFrozen()).isTrue();
+        assertThat(renamed.containsKey("address")).isTrue();
+    }
 }
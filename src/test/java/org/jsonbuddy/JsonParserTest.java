@@ -5,12 +5,21 @@ import org.jsonbuddy.parse.JsonParseException;
 import org.jsonbuddy.parse.JsonParser;
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -109,6 +118,82 @@ public class JsonParserTest {
         assertThat(jsonObject.requiredDouble("c")).isEqualTo(2500d);
     }
 
+    @Test
+    public void shouldParseNumbersLikeJava() throws Exception {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            String number = (i % 2 == 0)
+                    ? String.valueOf(Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE))
+                    : random.nextInt(1_000_000_000) + "." + random.nextInt(1000) + "e" + (random.nextInt(700) - 350);
+            if (number.equals("NaN") || number.equals("Infinity")) {
+                continue;
+            }
+            assertThat(JsonParser.parse(number)).as(number)
+                .isEqualTo(new JsonNumber(Double.parseDouble(number)));
+        }
+        assertThat(JsonParser.parse("2.2250738585072014E-308")).isEqualTo(new JsonNumber(2.2250738585072014E-308));
+        assertThat(JsonParser.parse("4.9e-324")).isEqualTo(new JsonNumber(4.9e-324));
+        assertThat(JsonParser.parse("1e400")).isEqualTo(new JsonNumber(Double.POSITIVE_INFINITY));
+        assertThat(JsonParser.parse("-0.0")).isEqualTo(new JsonNumber(-0.0));
+        assertThat(JsonParser.parse("0.000000000000000000000125")).isEqualTo(new JsonNumber(1.25e-22));
+    }
+
+    @Test
+    public void shouldParseIntegerLimits() throws Exception {
+        assertThat(JsonParser.parse("9223372036854775807")).isEqualTo(new JsonNumber(Long.MAX_VALUE));
+        assertThat(JsonParser.parse("-9223372036854775808")).isEqualTo(new JsonNumber(Long.MIN_VALUE));
+        assertThat(JsonParser.parse("9223372036854775808"))
+            .isEqualTo(new JsonNumber(new BigDecimal("9223372036854775808")));
+        assertThat(JsonParser.parse("-00012")).isEqualTo(new JsonNumber(-12L));
+        assertThat(JsonParser.parse("3.14159265358979323846264"))
+            .isEqualTo(new JsonNumber(new BigDecimal("3.14159265358979323846264")));
+    }
+
+    @Test
+    public void shouldRejectMalformedNumbers() throws Exception {
+        validateException("[1.2.3]", "Illegal value '1.2.3'");
+        validateException("[1e]", "Illegal value '1e'");
+        validateException("[1-2]", "Illegal value '1-2'");
+        validateException("[-]", "Illegal value '-'");
+        validateException("[1e5.3]", "Illegal value '1e5.3'");
+    }
+
+    @Test
+    public void shouldParseDeeplyNestedDocuments() throws Exception {
+        int depth = 200_000;
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            input.append("{\"a\":[");
+        }
+        input.append("true");
+        for (int i = 0; i < depth; i++) {
+            input.append("],\"b\":").append(i).append("}");
+        }
+
+        JsonObject node = JsonParser.parseToObject(input.toString());
+        for (int i = depth - 1; i > 0; i--) {
+            assertThat(node.requiredLong("b")).isEqualTo(i);
+            JsonArray array = node.requiredArray("a");
+            assertThat(array.size()).isEqualTo(1);
+            node = array.requiredObject(0);
+        }
+        assertThat(node.requiredLong("b")).isEqualTo(0);
+        assertThat(node.requiredArray("a").requiredBoolean(0)).isTrue();
+
+        JsonNode bytes = JsonParser.parse(input.toString().getBytes(StandardCharsets.UTF_8));
+        assertThat(((JsonObject) bytes).requiredArray("a").size()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldRejectDeeplyNestedInvalidDocuments() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            input.append("[");
+        }
+        validateException(input.toString(), "Expected , or ] in array");
+        validateException(input + "1}", "Expected , or ] in array");
+    }
+
     @Test
     public void shouldHandleSpecialCharacters() throws Exception {
         String input = fixQuotes("{'aval':'quote:\\\" backslash\\\\ \\/slash \\f bell\\b tab\\t newline\\nrest'}");
@@ -217,6 +302,100 @@ public class JsonParserTest {
 
     }
 
+    @Test
+    public void shouldHandleValuesSpanningBufferBoundaries() throws Exception {
+        StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            longText.append((char)('a' + i % 26));
+            if (i % 1000 == 0) longText.append("\\n");
+        }
+        JsonArray numbers = new JsonArray();
+        for (int i = 0; i < 5000; i++) {
+            numbers.add(i * 1001L);
+        }
+        JsonObject expected = new JsonObject()
+                .put("text", longText.toString().replace("\\n", "\n"))
+                .put("numbers", numbers);
+        String json = fixQuotes("{'text':'" + longText + "','numbers':" + numbers.toJson() + "}");
+
+        assertThat(JsonParser.parse(new StringReader(json))).isEqualTo(expected);
+        assertThat(JsonParser.parse(new OneCharacterReader(json))).isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldHandleCarriageReturnEscape() throws Exception {
+        JsonObject jsonObject = JsonParser.parseToObject(fixQuotes("{'value':'line\\r\\n'}"));
+        assertThat(jsonObject.requiredString("value")).isEqualTo("line\r\n");
+    }
+
+    @Test
+    public void shouldParseUtf8Bytes() throws Exception {
+        String json = fixQuotes("{'name':'Bl\u00e5b\u00e6r \u20ac \ud83d\ude00','escaped':'\\u00e5','count':3}");
+        JsonObject expected = JsonParser.parseToObject(json);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        assertThat(expected.requiredString("name")).isEqualTo("Bl\u00e5b\u00e6r \u20ac \ud83d\ude00");
+        assertThat(JsonParser.parse(bytes)).isEqualTo(expected);
+        assertThat(JsonParser.parseToObject(new ByteArrayInputStream(bytes))).isEqualTo(expected);
+        assertThat(JsonParser.parseToObject(new OneByteInputStream(bytes))).isEqualTo(expected);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 2);
+        direct.put((byte)'[').put(bytes).put((byte)']').flip();
+        assertThat(JsonParser.parse(direct)).isEqualTo(new JsonArray().add(expected));
+        assertThat(direct.remaining()).isEqualTo(bytes.length + 2);
+    }
+
+    @Test
+    public void shouldParseLongStringsWithSpecialCharactersAtAnyOffset() throws Exception {
+        String[] specials = { "\\\"", "\\\\", "\\n", "\\u00e5", "å", "€", "😀" };
+        String[] decoded = { "\"", "\\", "\n", "å", "å", "€", "😀" };
+        for (int length = 0; length < 40; length++) {
+            for (int offset = 0; offset <= length; offset++) {
+                for (int i = 0; i < specials.length; i++) {
+                    String plain = "abcdefghijklmnopqrstuvwxyz0123456789ABCD".substring(0, length);
+                    String json = "[\"" + plain.substring(0, offset) + specials[i] + plain.substring(offset) + "\",1]";
+                    JsonArray expected = new JsonArray()
+                            .add(plain.substring(0, offset) + decoded[i] + plain.substring(offset)).add(1L);
+                    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+                    assertThat(JsonParser.parse(bytes)).isEqualTo(expected);
+                    assertThat(JsonParser.parse(new OneByteInputStream(bytes))).isEqualTo(expected);
+                    assertThat(JsonParser.parseLazy(bytes)).isEqualTo(expected);
+                }
+            }
+        }
+        assertThatThrownBy(() -> JsonParser.parse("\"abcdefghijklmnop".getBytes(StandardCharsets.UTF_8)))
+            .hasMessage("JsonString not closed. Expected \"");
+    }
+
+    @Test
+    public void shouldParseByteArrayRange() throws Exception {
+        byte[] bytes = fixQuotes("xx['one',2]yy").getBytes(StandardCharsets.UTF_8);
+        assertThat(JsonParser.parse(bytes, 2, bytes.length - 4))
+            .isEqualTo(new JsonArray().add("one").add(2L));
+    }
+
+    @Test
+    public void shouldReplaceMalformedUtf8() throws Exception {
+        byte[] bytes = { '"', 'a', (byte)0xC3, 'b', (byte)0xFF, '"' };
+        assertThat(JsonParser.parse(bytes)).isEqualTo(new JsonString("a\uFFFDb\uFFFD"));
+        assertThatThrownBy(() -> JsonParser.parse(new byte[] { '"', 'a', (byte)0xE2, (byte)0x82 }))
+            .hasMessage("JsonString not closed. Expected \"");
+    }
+
+    @Test
+    public void shouldParseFile() throws Exception {
+        Path file = Files.createTempFile("jsonparser", ".json");
+        try {
+            Files.write(file, fixQuotes("{'name':'Blåbær','values':[1,2]}").getBytes(StandardCharsets.UTF_8));
+            assertThat(JsonParser.parseToObject(file).requiredString("name")).isEqualTo("Blåbær");
+            assertThat(JsonParser.parse(file)).isEqualTo(new JsonObject().put("name", "Blåbær").put("values", new JsonArray().add(1L).add(2L)));
+            assertThatThrownBy(() -> JsonParser.parseToArray(file)).hasMessageContaining("Expected json array");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
     @Test
     public void shouldParseBase64EncodedJsonObject() {
         JsonObject expected = new JsonObject().put("one", "two");
@@ -282,5 +461,51 @@ public class JsonParserTest {
         return content.replace("'", "\"");
     }
 
+    private static class OneByteInputStream extends InputStream {
+        private final byte[] input;
+        private int position;
+
+        OneByteInputStream(byte[] input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read() {
+            return position < input.length ? input[position++] & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            int c = read();
+            if (c == -1) {
+                return -1;
+            }
+            b[off] = (byte) c;
+            return 1;
+        }
+    }
+
+    private static class OneCharacterReader extends Reader {
+        private final String input;
+        private int position;
+
+        OneCharacterReader(String input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            if (position >= input.length()) {
+                return -1;
+            }
+            cbuf[off] = input.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
 
 }
\ No newline at end of file
@@ -3,6 +3,8 @@ package org.jsonbuddy;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
+import org.jsonbuddy.parse.JsonParser;
+import org.jsonbuddy.parse.JsonReader;
 import org.junit.Test;
 
 public class JsonValueTest {
@@ -24,6 +26,68 @@ public class JsonValueTest {
             .isNotEqualTo(123.0);
     }
 
+    @Test
+    public void shouldEqualNumbersWithPrimitiveStorage() throws Exception {
+        assertThat(JsonFactory.jsonLong(42L))
+            .isInstanceOf(JsonLong.class)
+            .isEqualTo(new JsonNumber(42L))
+            .hasSameHashCodeAs(new JsonNumber(42L))
+            .isNotEqualTo(JsonFactory.jsonDouble(42.0))
+            .isNotEqualTo(new JsonNumber(42));
+        assertThat(new JsonNumber(42L)).isEqualTo(JsonFactory.jsonLong(42L));
+        assertThat(JsonFactory.jsonDouble(2.5))
+            .isInstanceOf(JsonDouble.class)
+            .isEqualTo(new JsonNumber(2.5))
+            .hasSameHashCodeAs(new JsonNumber(2.5))
+            .isEqualTo(JsonFactory.jsonNumber((Number) 2.5));
+        assertThat(JsonFactory.jsonDouble(Double.NaN)).isEqualTo(JsonFactory.jsonDouble(Double.NaN));
+        assertThat(JsonFactory.jsonDouble(0.0)).isNotEqualTo(JsonFactory.jsonDouble(-0.0));
+        assertThat(JsonFactory.jsonNumber(42)).isEqualTo(new JsonNumber(42)).isNotInstanceOf(JsonLong.class);
+        assertThat(JsonFactory.jsonNumber(3.14f).toJson()).isEqualTo("3.14");
+    }
+
+    @Test
+    public void shouldConvertPrimitiveNumbers() throws Exception {
+        JsonNumber number = JsonFactory.jsonLong(Long.MAX_VALUE);
+        assertThat(number.longValue()).isEqualTo(Long.MAX_VALUE);
+        assertThat(number.intValue()).isEqualTo(-1);
+        assertThat(number.doubleValue()).isEqualTo(9.223372036854776E18);
+        assertThat(number.stringValue()).isEqualTo("9223372036854775807");
+        assertThat(number.javaObjectValue()).isEqualTo(Long.MAX_VALUE);
+
+        JsonNumber fraction = JsonFactory.jsonDouble(-3.75);
+        assertThat(fraction.longValue()).isEqualTo(-3L);
+        assertThat(fraction.floatValue()).isEqualTo(-3.75f);
+        assertThat(fraction.stringValue()).isEqualTo("-3.75");
+        assertThat(fraction.toJson()).isEqualTo("-3.75");
+        assertThat(fraction.javaObjectValue()).isEqualTo(-3.75);
+    }
+
+    @Test
+    public void shouldShareCommonValues() throws Exception {
+        JsonArray parsed = JsonParser.parseToArray("[null, true, false, 7, -128, 1023, 1024]");
+        assertThat(parsed.get(0, JsonNull.class)).isSameAs(JsonFactory.jsonNull());
+        assertThat(parsed.get(1, JsonBoolean.class)).isSameAs(JsonFactory.jsonTrue());
+        assertThat(parsed.get(2, JsonBoolean.class)).isSameAs(JsonFactory.jsonBoolean(false));
+        assertThat(parsed.get(3, JsonNumber.class)).isSameAs(JsonFactory.jsonLong(7L));
+        assertThat(parsed.get(4, JsonNumber.class)).isSameAs(JsonFactory.jsonLong(-128L));
+        assertThat(parsed.get(5, JsonNumber.class)).isSameAs(JsonFactory.jsonNode(1023));
+        assertThat(parsed.get(6, JsonNumber.class))
+            .isNotSameAs(JsonFactory.jsonLong(1024L))
+            .isEqualTo(JsonFactory.jsonLong(1024L));
+        assertThat(JsonFactory.jsonLong(-129L)).isNotSameAs(JsonFactory.jsonLong(-129L));
+        assertThat(JsonFactory.jsonNode(null)).isSameAs(JsonFactory.jsonNull()).isEqualTo(new JsonNull());
+
+        JsonReader reader = new JsonReader("[null, true, 7]");
+        reader.nextToken();
+        reader.nextToken();
+        assertThat(reader.readNode()).isSameAs(JsonFactory.jsonNull());
+        reader.nextToken();
+        assertThat(reader.readNode()).isSameAs(JsonFactory.jsonTrue());
+        reader.nextToken();
+        assertThat(reader.readNode()).isSameAs(JsonFactory.jsonLong(7L));
+    }
+
     @Test
     public void shouldSupport() throws Exception {
         JsonBoolean b = new JsonBoolean(false);
@@ -0,0 +1,79 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonObject;
+import org.junit.Test;
+
+public class ArrayElementIndexTest {
+
+    @Test
+    public void shouldParseElementsInParallel() {
+        JsonArray expected = new JsonArray();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(new JsonObject()
+                    .put("id", (long) i)
+                    .put("name", "[\"tricky\\\" ,]} " + i)
+                    .put("tags", JsonArray.fromStrings("a", "b,c")));
+        }
+        byte[] input = expected.toJson().getBytes(StandardCharsets.UTF_8);
+
+        assertThat(JsonParser.parseToArrayParallel(input)).isEqualTo(expected);
+    }
+
+    @Test
+    public void shouldParseDirectBuffer() {
+        byte[] input = fixQuotes(" [ 1, 'blåbær', {'a':[1,2]}, null , [] ] ").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(input.length);
+        buffer.put(input).flip();
+
+        assertThat(JsonParser.parallelArrayStream(buffer).collect(Collectors.toList()))
+            .isEqualTo(JsonParser.parseToArray(new String(input, StandardCharsets.UTF_8)).nodeStream().collect(Collectors.toList()));
+        assertThat(buffer.position()).isEqualTo(0);
+    }
+
+    @Test
+    public void shouldKeepElementOrderAcrossChunks() {
+        JsonArray expected = new JsonArray();
+        for (int i = 0; i < 10_001; i++) {
+            expected.add(i % 3 == 0 ? new JsonObject().put("id", (long) i) : "element " + i);
+        }
+        byte[] input = expected.toJson().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(input.length);
+        buffer.put(input).flip();
+
+        assertThat(JsonParser.parallelArrayStream(buffer).collect(Collectors.toList()))
+            .isEqualTo(expected.nodeStream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldHandleEmptyArrayAndTrailingComma() {
+        assertThat(JsonParser.parseToArrayParallel("[]".getBytes())).isEqualTo(new JsonArray());
+        assertThat(JsonParser.parseToArrayParallel("[ 1, 2, ]".getBytes()))
+            .isEqualTo(new JsonArray().add(1L).add(2L));
+    }
+
+    @Test
+    public void shouldReportSyntaxErrors() {
+        assertThatThrownBy(() -> JsonParser.parseToArrayParallel("{}".getBytes()))
+            .isInstanceOf(JsonParseException.class).hasMessage("Expected json array");
+        assertThatThrownBy(() -> JsonParser.parseToArrayParallel("[1, 2".getBytes()))
+            .isInstanceOf(JsonParseException.class).hasMessage("Expected , or ] in array");
+        assertThatThrownBy(() -> JsonParser.parseToArrayParallel("[1,,2]".getBytes()))
+            .isInstanceOf(JsonParseException.class).hasMessage("Unexpected character ','");
+        assertThatThrownBy(() -> JsonParser.parseToArrayParallel("[1 2]".getBytes()))
+            .isInstanceOf(JsonParseException.class).hasMessage("Expected , or ] in array");
+        assertThatThrownBy(() -> JsonParser.parseToArrayParallel("[{'a':1]}".getBytes()))
+            .isInstanceOf(JsonParseException.class);
+    }
+
+    private static String fixQuotes(String s) {
+        return s.replace("'", "\"");
+    }
+}
@@ -0,0 +1,117 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonNode;
+import org.jsonbuddy.JsonNumber;
+import org.jsonbuddy.JsonObject;
+import org.jsonbuddy.JsonString;
+import org.junit.Test;
+
+public class JsonFeedParserTest {
+
+    private final List<JsonNode> values = new ArrayList<>();
+    private final JsonFeedParser parser = new JsonFeedParser(values::add);
+
+    @Test
+    public void shouldParseDocumentFedOneByteAtATime() throws Exception {
+        String json = fixQuotes("{'name':'Blåbær \\u20ac','numbers':[12345, -1.5e3, true, false, null],'nested':{'empty':{}, 'list':[]}}");
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < bytes.length; i++) {
+            assertThat(values).isEmpty();
+            parser.feed(bytes, i, 1);
+        }
+        assertThat(values).containsExactly(JsonParser.parse(json));
+    }
+
+    @Test
+    public void shouldEmitValuesAsSoonAsTheyAreComplete() throws Exception {
+        parser.feed(ByteBuffer.wrap(fixQuotes("{'id':1} [2,").getBytes(StandardCharsets.UTF_8)));
+        assertThat(values).containsExactly(new JsonObject().put("id", 1L));
+
+        parser.feed(ByteBuffer.wrap(fixQuotes("3] 'text' 45").getBytes(StandardCharsets.UTF_8)));
+        assertThat(values).containsExactly(new JsonObject().put("id", 1L),
+                new JsonArray().add(2L).add(3L), new JsonString("text"));
+
+        parser.feed(ByteBuffer.wrap("6 ".getBytes(StandardCharsets.UTF_8)));
+        parser.endOfInput();
+        assertThat(values).endsWith(new JsonNumber(456L));
+    }
+
+    @Test
+    public void shouldCompleteTrailingNumberAtEndOfInput() throws Exception {
+        parser.feed(ByteBuffer.wrap("42".getBytes(StandardCharsets.UTF_8)));
+        assertThat(values).isEmpty();
+        parser.endOfInput();
+        assertThat(values).containsExactly(new JsonNumber(42L));
+    }
+
+    @Test
+    public void shouldReportErrors() throws Exception {
+        assertThatThrownBy(() -> parser.feed(ByteBuffer.wrap(fixQuotes("[1 2]").getBytes(StandardCharsets.UTF_8))))
+            .hasMessage("Expected , or ] in array");
+
+        JsonFeedParser incomplete = new JsonFeedParser(values::add);
+        incomplete.feed(ByteBuffer.wrap(fixQuotes("{'name':'Darth'").getBytes(StandardCharsets.UTF_8)));
+        assertThatThrownBy(incomplete::endOfInput).hasMessage("JsonObject not closed. Expected }");
+        assertThatThrownBy(() -> incomplete.feed(new byte[1], 0, 1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void shouldParseLongTokensFedInSmallChunksInLinearTime() throws Exception {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 4_000_000) {
+            text.append("Blåbær \\\" and more text ");
+        }
+        StringBuilder digits = new StringBuilder("1.");
+        while (digits.length() < 100_000) {
+            digits.append("1234567890");
+        }
+        byte[] bytes = ("[\"" + text + "\", " + digits + ", \"end\"]").getBytes(StandardCharsets.UTF_8);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < bytes.length; i += 16) {
+            parser.feed(bytes, i, Math.min(16, bytes.length - i));
+        }
+        parser.endOfInput();
+        assertThat(System.currentTimeMillis() - start).isLessThan(10_000);
+
+        assertThat(values).hasSize(1);
+        JsonArray array = (JsonArray) values.get(0);
+        assertThat(array.requiredString(0)).isEqualTo(text.toString().replace("\\\"", "\""));
+        assertThat(array.requiredString(2)).isEqualTo("end");
+        assertThat(array.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldParseWhitespaceFedOneByteAtATimeInLinearTime() throws Exception {
+        StringBuilder whitespace = new StringBuilder();
+        while (whitespace.length() < 200_000) {
+            whitespace.append(" \n\t\r");
+        }
+        String json = fixQuotes("{'key'" + whitespace + ":" + whitespace + "[true" + whitespace + ","
+                + whitespace + "null, false, 12" + whitespace + "]" + whitespace + "}");
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < bytes.length; i++) {
+            parser.feed(bytes, i, 1);
+        }
+        parser.endOfInput();
+        assertThat(System.currentTimeMillis() - start).isLessThan(10_000);
+
+        assertThat(values).containsExactly(new JsonObject()
+                .put("key", new JsonArray().add(true).add(null).add(false).add(12L)));
+    }
+
+    private static String fixQuotes(String content) {
+        return content.replace("'", "\"");
+    }
+}
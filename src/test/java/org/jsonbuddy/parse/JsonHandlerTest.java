@@ -0,0 +1,125 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class JsonHandlerTest {
+
+    @Test
+    public void shouldReportEvents() throws Exception {
+        RecordingHandler handler = new RecordingHandler();
+        JsonParser.parse(fixQuotes("{'name':'Darth','age':45,'height':2.02,'children':[true,null,123456789012345678901234]}"), handler);
+        assertThat(handler.events).containsExactly(
+                "startObject",
+                "key:name", "string:Darth",
+                "key:age", "long:45",
+                "key:height", "double:2.02",
+                "key:children", "startArray",
+                "boolean:true", "null", "bigDecimal:123456789012345678901234",
+                "endArray",
+                "endObject");
+    }
+
+    @Test
+    public void shouldComputeAggregatesWithoutTree() throws Exception {
+        byte[] input = fixQuotes("[{'price':10,'qty':2},{'price':2.5,'qty':4},{'price':1}]").getBytes(StandardCharsets.UTF_8);
+        double[] sum = new double[1];
+        JsonParser.parse(input, new JsonHandler() {
+            private String key;
+
+            @Override
+            public void key(String key) {
+                this.key = key;
+            }
+
+            @Override
+            public void longValue(long value) {
+                doubleValue(value);
+            }
+
+            @Override
+            public void doubleValue(double value) {
+                if (key.equals("price")) {
+                    sum[0] += value;
+                }
+            }
+        });
+        assertThat(sum[0]).isEqualTo(13.5);
+    }
+
+    @Test
+    public void shouldReportSyntaxErrors() throws Exception {
+        assertThatThrownBy(() -> JsonParser.parse(fixQuotes("{'name':'Darth Vader'"), new RecordingHandler()))
+            .hasMessage("JsonObject not closed. Expected }");
+    }
+
+    private static class RecordingHandler implements JsonHandler {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void startObject() {
+            events.add("startObject");
+        }
+
+        @Override
+        public void key(String key) {
+            events.add("key:" + key);
+        }
+
+        @Override
+        public void endObject() {
+            events.add("endObject");
+        }
+
+        @Override
+        public void startArray() {
+            events.add("startArray");
+        }
+
+        @Override
+        public void endArray() {
+            events.add("endArray");
+        }
+
+        @Override
+        public void stringValue(String value) {
+            events.add("string:" + value);
+        }
+
+        @Override
+        public void longValue(long value) {
+            events.add("long:" + value);
+        }
+
+        @Override
+        public void doubleValue(double value) {
+            events.add("double:" + value);
+        }
+
+        @Override
+        public void bigDecimalValue(BigDecimal value) {
+            events.add("bigDecimal:" + value);
+        }
+
+        @Override
+        public void booleanValue(boolean value) {
+            events.add("boolean:" + value);
+        }
+
+        @Override
+        public void nullValue() {
+            events.add("null");
+        }
+    }
+
+    private static String fixQuotes(String content) {
+        return content.replace("'", "\"");
+    }
+}
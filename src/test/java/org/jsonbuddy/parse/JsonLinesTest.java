@@ -0,0 +1,89 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonLinesWriter;
+import org.jsonbuddy.JsonNode;
+import org.jsonbuddy.JsonNumber;
+import org.jsonbuddy.JsonObject;
+import org.junit.Test;
+
+public class JsonLinesTest {
+
+    @Test
+    public void shouldWriteAndReadJsonLines() throws Exception {
+        JsonObject first = new JsonObject().put("name", "Darth\nVader").put("age", 45L);
+        JsonArray second = new JsonArray().add("a").add(new JsonObject());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonLinesWriter writer = new JsonLinesWriter(output)) {
+            writer.write(first).write(second).write(new JsonNumber(3L));
+        }
+        assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+            .isEqualTo(first.toJson() + "\n" + second.toJson() + "\n3\n");
+
+        try (Stream<JsonNode> lines = JsonLinesReader.stream(new ByteArrayInputStream(output.toByteArray()))) {
+            assertThat(lines.collect(Collectors.toList())).containsExactly(first, second, new JsonNumber(3L));
+        }
+    }
+
+    @Test
+    public void shouldSkipBlankLines() throws Exception {
+        String input = "{\"id\":1}\r\n\n   \n{\"id\":2}   \n\n";
+        JsonLinesReader reader = new JsonLinesReader(new StringReader(input));
+        assertThat(reader.next()).isEqualTo(new JsonObject().put("id", 1L));
+        assertThat(reader.hasNext()).isTrue();
+        assertThat(reader.next()).isEqualTo(new JsonObject().put("id", 2L));
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldParseLinesLazily() throws Exception {
+        InputStream endless = new InputStream() {
+            private final byte[] line = "{\"n\":1}\n".getBytes(StandardCharsets.UTF_8);
+            private int position;
+
+            @Override
+            public int read() {
+                return line[position++ % line.length];
+            }
+        };
+        List<JsonNode> firstLines = JsonLinesReader.stream(endless).limit(3).collect(Collectors.toList());
+        assertThat(firstLines).hasSize(3);
+    }
+
+    @Test
+    public void shouldReadFile() throws Exception {
+        Path file = Files.createTempFile("jsonlines", ".ndjson");
+        try {
+            Files.write(file, "{\"a\":\"blå\"}\n[1,2]\n".getBytes(StandardCharsets.UTF_8));
+            try (Stream<JsonNode> lines = JsonLinesReader.stream(file)) {
+                assertThat(lines.filter(JsonNode::isArray).count()).isEqualTo(1);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void shouldReportLineOfErrors() throws Exception {
+        JsonLinesReader reader = new JsonLinesReader(new StringReader("{}\n\n{\"a\":}\n"));
+        reader.next();
+        assertThatThrownBy(reader::next).hasMessage("Unexpected character '}' on line 3");
+
+        JsonLinesReader twoValues = new JsonLinesReader(new StringReader("{} {}\n"));
+        assertThatThrownBy(twoValues::next).hasMessage("Expected end of line after value on line 1");
+    }
+}
@@ -0,0 +1,73 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.jsonbuddy.JsonNode;
+import org.junit.Test;
+
+public class JsonProjectionTest {
+
+    private final String json = fixQuotes("{'user':{'id':12,'name':'Darth','roles':['admin']},"
+            + "'items':[{'price':10,'name':'a'},{'price':2.5,'tags':[1,2]},'text'],"
+            + "'skipped':{'deep':[{'x':\"\\\"}]\"}]},'a/b':true}");
+
+    @Test
+    public void shouldIncludeOnlyProjectedPaths() {
+        JsonNode result = JsonParser.parse(json, JsonProjection.of("/user/id", "/items/*/price"));
+        assertThat(result).isEqualTo(JsonParser.parse(fixQuotes(
+                "{'user':{'id':12},'items':[{'price':10},{'price':2.5},null]}")));
+    }
+
+    @Test
+    public void shouldIncludeWholeSubtrees() {
+        JsonNode result = JsonParser.parse(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                JsonProjection.of("/user", "/a~1b"));
+        assertThat(result).isEqualTo(JsonParser.parse(fixQuotes(
+                "{'user':{'id':12,'name':'Darth','roles':['admin']},'a/b':true}")));
+        assertThat(JsonParser.parse(json, JsonProjection.of(""))).isEqualTo(JsonParser.parse(json));
+    }
+
+    @Test
+    public void shouldMergeWildcardAndIndexPaths() {
+        JsonNode result = JsonParser.parse(json.getBytes(StandardCharsets.UTF_8),
+                JsonProjection.of("/items/*/price", "/items/1/tags/0", "/missing"));
+        assertThat(result).isEqualTo(JsonParser.parse(fixQuotes(
+                "{'items':[{'price':10},{'price':2.5,'tags':[1,null]},null]}")));
+    }
+
+    @Test
+    public void shouldKeepContainersOnPathsWithoutIncludedMembers() {
+        JsonNode result = JsonParser.parse(fixQuotes("{'user':{'name':'Darth'},'items':[{'name':'a'},[],{'price':1}]}"),
+                JsonProjection.of("/user/id", "/items/*/price"));
+        assertThat(result).isEqualTo(JsonParser.parse(fixQuotes(
+                "{'user':{},'items':[{},[],{'price':1}]}")));
+        assertThat(JsonParser.parse("{}", JsonProjection.of("/missing"))).isEqualTo(JsonParser.parse("{}"));
+    }
+
+    @Test
+    public void shouldKeepPositionsOfIncludedArrayElements() {
+        JsonNode result = JsonParser.parse(fixQuotes("['a',{'id':1},'b',{'id':2},3]"),
+                JsonProjection.of("/1", "/*/id"));
+        assertThat(result).isEqualTo(JsonParser.parse(fixQuotes("[null,{'id':1},null,{'id':2},null]")));
+        assertThat(JsonParser.parse("[[1,2],[3,4]]", JsonProjection.of("/*/1")))
+            .isEqualTo(JsonParser.parse("[[null,2],[null,4]]"));
+    }
+
+    @Test
+    public void shouldReportErrorsInSkippedValues() {
+        assertThatThrownBy(() -> JsonParser.parse(fixQuotes("{'a':1,'b':[1,2}"), JsonProjection.of("/a")))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Expected , or ] in array");
+        assertThatThrownBy(() -> JsonProjection.of("user"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(JsonParser.parse("12", JsonProjection.of("/a"))).isNull();
+    }
+
+    private static String fixQuotes(String s) {
+        return s.replace("'", "\"");
+    }
+}
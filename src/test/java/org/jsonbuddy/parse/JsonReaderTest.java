@@ -0,0 +1,132 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonObject;
+import org.junit.Test;
+
+public class JsonReaderTest {
+
+    @Test
+    public void shouldReadTokens() throws Exception {
+        JsonReader reader = new JsonReader(fixQuotes("{'name':'Darth', 'age': 45, 'sith':true, 'children':['Luke', null, 1.5]}"));
+        List<JsonToken> tokens = new ArrayList<>();
+        JsonToken token;
+        while ((token = reader.nextToken()) != null) {
+            tokens.add(token);
+        }
+        assertThat(tokens).containsExactly(
+                JsonToken.START_OBJECT,
+                JsonToken.FIELD_NAME, JsonToken.STRING,
+                JsonToken.FIELD_NAME, JsonToken.NUMBER,
+                JsonToken.FIELD_NAME, JsonToken.TRUE,
+                JsonToken.FIELD_NAME, JsonToken.START_ARRAY,
+                JsonToken.STRING, JsonToken.NULL, JsonToken.NUMBER,
+                JsonToken.END_ARRAY,
+                JsonToken.END_OBJECT);
+    }
+
+    @Test
+    public void shouldReturnNamesAndValues() throws Exception {
+        JsonReader reader = new JsonReader(fixQuotes("{'name':'Darth','age':45,'height':2.02,'sith':true,'ship':{'type':'TIE'}}"));
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+        assertThat(reader.currentName()).isNull();
+
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.FIELD_NAME);
+        assertThat(reader.currentName()).isEqualTo("name");
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.STRING);
+        assertThat(reader.currentName()).isEqualTo("name");
+        assertThat(reader.stringValue()).isEqualTo("Darth");
+
+        reader.nextToken();
+        reader.nextToken();
+        assertThat(reader.longValue()).isEqualTo(45L);
+        reader.nextToken();
+        reader.nextToken();
+        assertThat(reader.doubleValue()).isEqualTo(2.02);
+        reader.nextToken();
+        reader.nextToken();
+        assertThat(reader.booleanValue()).isTrue();
+
+        reader.nextToken();
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+        assertThat(reader.currentName()).isEqualTo("ship");
+        reader.nextToken();
+        assertThat(reader.currentName()).isEqualTo("type");
+        reader.nextToken();
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.END_OBJECT);
+        assertThat(reader.currentName()).isEqualTo("ship");
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.END_OBJECT);
+        assertThat(reader.nextToken()).isNull();
+    }
+
+    @Test
+    public void shouldReadArrayElementsAsNodes() throws Exception {
+        byte[] input = fixQuotes("[{'id':1,'tags':['a']}, {'id':2,'tags':[]} ,{'id':3}]").getBytes(StandardCharsets.UTF_8);
+        JsonReader reader = new JsonReader(new ByteArrayInputStream(input));
+
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.START_ARRAY);
+        List<JsonObject> elements = new ArrayList<>();
+        while (reader.nextToken() != JsonToken.END_ARRAY) {
+            elements.add((JsonObject) reader.readNode());
+            assertThat(reader.currentToken()).isEqualTo(JsonToken.END_OBJECT);
+        }
+        assertThat(elements).containsExactly(
+                new JsonObject().put("id", 1L).put("tags", new JsonArray().add("a")),
+                new JsonObject().put("id", 2L).put("tags", new JsonArray()),
+                new JsonObject().put("id", 3L));
+        assertThat(reader.nextToken()).isNull();
+    }
+
+    @Test
+    public void shouldReadFieldValueAsNode() throws Exception {
+        JsonReader reader = new JsonReader(fixQuotes("{'skip':1,'ship':{'type':'TIE'},'after':'x'}"));
+        reader.nextToken();
+        reader.nextToken();
+        reader.nextToken();
+        reader.nextToken();
+        assertThat(reader.readNode()).isEqualTo(new JsonObject().put("type", "TIE"));
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.FIELD_NAME);
+        assertThat(reader.readNode().stringValue()).isEqualTo("x");
+    }
+
+    @Test
+    public void shouldSkipChildren() throws Exception {
+        JsonReader reader = new JsonReader(fixQuotes("{'big':{'a':[1,{'b':'\\\"x'}],'c':null},'wanted':42}"));
+        reader.nextToken();
+        reader.nextToken();
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.START_OBJECT);
+        reader.skipChildren();
+        assertThat(reader.currentToken()).isEqualTo(JsonToken.END_OBJECT);
+        assertThat(reader.nextToken()).isEqualTo(JsonToken.FIELD_NAME);
+        assertThat(reader.currentName()).isEqualTo("wanted");
+        reader.nextToken();
+        assertThat(reader.longValue()).isEqualTo(42L);
+    }
+
+    @Test
+    public void shouldReportSyntaxErrors() throws Exception {
+        assertThatThrownBy(() -> readAll("{'name':'Darth Vader'")).hasMessage("JsonObject not closed. Expected }");
+        assertThatThrownBy(() -> readAll("[1 2]")).hasMessage("Expected , or ] in array");
+        assertThatThrownBy(() -> readAll("{'name' 'Darth'")).hasMessage("Expected value for objectkey name");
+        assertThatThrownBy(() -> readAll("{'name':Luke}")).hasMessage("Unexpected character 'L'");
+        assertThatThrownBy(() -> new JsonReader("{}").longValue()).isInstanceOf(org.jsonbuddy.JsonConversionException.class);
+    }
+
+    private void readAll(String json) {
+        JsonReader reader = new JsonReader(fixQuotes(json));
+        while (reader.nextToken() != null) {
+        }
+    }
+
+    private static String fixQuotes(String content) {
+        return content.replace("'", "\"");
+    }
+}
@@ -0,0 +1,108 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonNode;
+import org.jsonbuddy.JsonNumber;
+import org.jsonbuddy.JsonObject;
+import org.jsonbuddy.JsonString;
+import org.junit.Test;
+
+public class JsonSequenceReaderTest {
+
+    private static final String INPUT = "{\"id\":1}{\"id\":2}[\"a\"]\"text\"true null 3\n\t4.5 ";
+
+    @Test
+    public void shouldReadConcatenatedValues() throws Exception {
+        JsonNode[] expected = {
+                new JsonObject().put("id", 1L),
+                new JsonObject().put("id", 2L),
+                new JsonArray().add("a"),
+                new JsonString("text"),
+                JsonParser.parse("true"),
+                JsonParser.parse("null"),
+                new JsonNumber(3L),
+                new JsonNumber(4.5)
+        };
+        try (Stream<JsonNode> values = JsonSequenceReader.stream(new StringReader(INPUT))) {
+            assertThat(values.collect(Collectors.toList())).containsExactly(expected);
+        }
+        try (Stream<JsonNode> values = JsonSequenceReader.stream(new ByteArrayInputStream(INPUT.getBytes(StandardCharsets.UTF_8)))) {
+            assertThat(values.collect(Collectors.toList())).containsExactly(expected);
+        }
+    }
+
+    @Test
+    public void shouldSkipRecordSeparators() throws Exception {
+        JsonSequenceReader reader = new JsonSequenceReader(new StringReader("\u001E{\"a\":1}\n\u001E[2]\n"));
+        assertThat(reader.next()).isEqualTo(new JsonObject().put("a", 1L));
+        assertThat(reader.next()).isEqualTo(new JsonArray().add(2L));
+        assertThat(reader.hasNext()).isFalse();
+    }
+
+    @Test
+    public void shouldReturnValueBeforeNextValueArrives() throws Exception {
+        InputStream socket = new InputStream() {
+            private final byte[] first = "{\"n\":1}".getBytes(StandardCharsets.UTF_8);
+            private int position;
+
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (position == first.length) {
+                    throw new IllegalStateException("Waiting for more input");
+                }
+                int count = Math.min(len, first.length - position);
+                System.arraycopy(first, position, b, off, count);
+                position += count;
+                return count;
+            }
+        };
+        assertThat(new JsonSequenceReader(socket).next()).isEqualTo(new JsonObject().put("n", 1L));
+
+        Reader reader = new Reader() {
+            private final String first = "[1, 2]";
+            private int position;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (position == first.length()) {
+                    throw new IllegalStateException("Waiting for more input");
+                }
+                int count = Math.min(len, first.length() - position);
+                first.getChars(position, position + count, cbuf, off);
+                position += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThat(new JsonSequenceReader(reader).next()).isEqualTo(new JsonArray().add(1L).add(2L));
+    }
+
+    @Test
+    public void shouldReportInvalidValues() throws Exception {
+        JsonSequenceReader reader = new JsonSequenceReader(new StringReader("{}{\"a\":}"));
+        reader.next();
+        assertThatThrownBy(reader::next).hasMessage("Unexpected character '}'");
+
+        assertThatThrownBy(() -> new JsonSequenceReader(new StringReader("1{}")).next())
+            .hasMessage("Illegal value '1{'");
+    }
+}
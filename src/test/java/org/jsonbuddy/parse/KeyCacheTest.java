@@ -0,0 +1,50 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonObject;
+import org.junit.Test;
+
+public class KeyCacheTest {
+
+    @Test
+    public void shouldReturnSameInstanceForRepeatedKeys() {
+        JsonArray array = JsonParser.parseToArray(fixQuotes("[{'name':1,'caf\\u00e9':2},{'name':3,'café':4}]"));
+        List<String> first = new ArrayList<>(array.requiredObject(0).keys());
+        List<String> second = new ArrayList<>(array.requiredObject(1).keys());
+
+        assertThat(second.get(0)).isSameAs(first.get(0));
+        assertThat(second.get(1)).isEqualTo("café").isSameAs(first.get(1));
+    }
+
+    @Test
+    public void shouldUseConfiguredCache() {
+        KeyCache cache = new KeyCache(2);
+        ParserOptions options = new ParserOptions().withKeyCache(cache);
+        JsonObject first = (JsonObject) JsonParser.parse(fixQuotes("{'a':1,'b':2,'c':3}"), options);
+        JsonObject second = (JsonObject) JsonParser.parse(fixQuotes("{'c':1}").getBytes(), options);
+        assertThat(second.keys().iterator().next()).isSameAs(cache.get("c"));
+        assertThat(first).isEqualTo(JsonParser.parse(fixQuotes("{'a':1,'b':2,'c':3}")));
+
+        JsonObject uncached = (JsonObject) JsonParser.parse(fixQuotes("{'c':1}"), new ParserOptions().withKeyCache(null));
+        assertThat(uncached.keys().iterator().next()).isEqualTo("c").isNotSameAs(cache.get("c"));
+    }
+
+    @Test
+    public void shouldNotCacheLongKeys() {
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            key.append('k');
+        }
+        KeyCache cache = new KeyCache(16);
+        assertThat(cache.get(key)).isEqualTo(key.toString()).isNotSameAs(cache.get(key));
+    }
+
+    private static String fixQuotes(String s) {
+        return s.replace("'", "\"");
+    }
+}
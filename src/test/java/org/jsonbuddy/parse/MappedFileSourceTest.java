@@ -0,0 +1,33 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonObject;
+import org.junit.Test;
+
+public class MappedFileSourceTest {
+
+    @Test
+    public void shouldParseAcrossMappedWindows() throws Exception {
+        JsonArray expected = new JsonArray();
+        for (int i = 0; i < 200; i++) {
+            expected.add(new JsonObject().put("id", (long) i).put("name", "blåbær " + i));
+        }
+        Path file = Files.createTempFile("mapped", ".json");
+        try {
+            Files.write(file, expected.toJson().getBytes(StandardCharsets.UTF_8));
+            try (MappedFileSource source = new MappedFileSource(FileChannel.open(file, StandardOpenOption.READ), 7)) {
+                assertThat(new JsonParser(new Utf8Tokenizer(source)).parseValue()).isEqualTo(expected);
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.jsonbuddy.JsonObject;
+import org.junit.Test;
+
+public class ParserOptionsTest {
+
+    @Test
+    public void shouldLimitDepth() {
+        ParserOptions options = new ParserOptions().withMaxDepth(3);
+        assertThat(JsonParser.parse("[[[1]]]", options)).isNotNull();
+        assertThatThrownBy(() -> JsonParser.parse(fixQuotes("[[{'a':[1]}]]"), options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Maximum depth of 3 exceeded");
+
+        StringBuilder deep = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            deep.append('[');
+        }
+        assertThatThrownBy(() -> JsonParser.parse(deep.toString().getBytes(), new ParserOptions().withMaxDepth(100)))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Maximum depth of 100 exceeded");
+    }
+
+    @Test
+    public void shouldLimitEntries() {
+        ParserOptions options = new ParserOptions().withMaxEntries(2);
+        assertThat(JsonParser.parse(fixQuotes("{'a':[1,2],'b':{}}"), options)).isNotNull();
+        assertThatThrownBy(() -> JsonParser.parse("[1,2,3]", options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Maximum of 2 entries exceeded");
+        assertThatThrownBy(() -> JsonParser.parse(fixQuotes("{'a':1,'b':2,'c':3}"), options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Maximum of 2 entries exceeded");
+    }
+
+    @Test
+    public void shouldLimitStringAndNumberLength() {
+        ParserOptions options = new ParserOptions().withMaxStringLength(5).withMaxNumberLength(4);
+        JsonObject object = (JsonObject) JsonParser.parse(fixQuotes("{'short':'12345','n':-1.5}"), options);
+        assertThat(object.requiredString("short")).isEqualTo("12345");
+
+        assertThatThrownBy(() -> JsonParser.parse(fixQuotes("['123456']"), options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("String longer than maximum length of 5");
+        assertThatThrownBy(() -> JsonParser.parse(fixQuotes("{'toolong':1}").getBytes(), options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("String longer than maximum length of 5");
+        assertThatThrownBy(() -> JsonParser.parse("[12345]", options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Number longer than maximum length of 4");
+        assertThatThrownBy(() -> JsonParser.parse("[1e100]", options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Number longer than maximum length of 4");
+    }
+
+    @Test
+    public void shouldStopReadingStringsAtMaximumLength() {
+        ParserOptions options = new ParserOptions().withMaxStringLength(10);
+        int[] charsRead = new int[1];
+        Reader endlessString = new Reader() {
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                if (charsRead[0] >= 1_000_000) {
+                    return -1;
+                }
+                Arrays.fill(cbuf, off, off + len, charsRead[0] == 0 ? '"' : 'a');
+                int count = charsRead[0] == 0 ? 1 : len;
+                charsRead[0] += count;
+                return count;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        assertThatThrownBy(() -> JsonParser.parse(endlessString, options))
+            .hasMessage("String longer than maximum length of 10");
+        assertThat(charsRead[0]).isLessThanOrEqualTo(2 * CharTokenizer.BUFFER_SIZE);
+
+        int[] bytesRead = new int[1];
+        InputStream endlessBytes = new InputStream() {
+            @Override
+            public int read() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (bytesRead[0] >= 1_000_000) {
+                    return -1;
+                }
+                Arrays.fill(b, off, off + len, bytesRead[0] == 0 ? (byte) '"' : (byte) 'a');
+                int count = bytesRead[0] == 0 ? 1 : len;
+                bytesRead[0] += count;
+                return count;
+            }
+        };
+        assertThatThrownBy(() -> JsonParser.parse(endlessBytes, options))
+            .hasMessage("String longer than maximum length of 10");
+        assertThat(bytesRead[0]).isLessThanOrEqualTo(2 * Utf8Tokenizer.BUFFER_SIZE);
+    }
+
+    @Test
+    public void shouldLimitTotalSize() {
+        ParserOptions options = new ParserOptions().withMaxTotalChars(10);
+        assertThat(JsonParser.parse("[1,2,3,4]", options)).isNotNull();
+        assertThatThrownBy(() -> JsonParser.parse("[1,2,3,4,5]".getBytes(), options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Document exceeds maximum size of 10");
+        assertThatThrownBy(() -> JsonParser.parse(new StringReader("[1,2,3,4,5]"), options))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Document exceeds maximum size of 10");
+
+        byte[] large = new byte[100_000];
+        Arrays.fill(large, (byte) ' ');
+        assertThatThrownBy(() -> JsonParser.parse(new ByteArrayInputStream(large), new ParserOptions().withMaxTotalChars(20_000)))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Document exceeds maximum size of 20000");
+    }
+
+    @Test
+    public void shouldApplyLimitsToEachDocumentOfReusableParser() {
+        ReusableJsonParser parser = new ReusableJsonParser(new ParserOptions().withMaxTotalChars(8).withMaxDepth(2));
+        for (int i = 0; i < 3; i++) {
+            assertThat(parser.parse("[[1,2]]".getBytes(StandardCharsets.UTF_8))).isNotNull();
+            assertThat(parser.parse("[[1,2]]")).isNotNull();
+        }
+        assertThatThrownBy(() -> parser.parse("[[[1]]]"))
+            .isInstanceOf(JsonParseException.class)
+            .hasMessage("Maximum depth of 2 exceeded");
+        assertThat(parser.parse("[[3]]")).isNotNull();
+    }
+
+    private static String fixQuotes(String s) {
+        return s.replace("'", "\"");
+    }
+}
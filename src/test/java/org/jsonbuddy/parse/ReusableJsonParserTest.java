@@ -0,0 +1,53 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.jsonbuddy.JsonArray;
+import org.jsonbuddy.JsonObject;
+import org.junit.Test;
+
+public class ReusableJsonParserTest {
+
+    @Test
+    public void shouldParseManyDocuments() {
+        ReusableJsonParser parser = new ReusableJsonParser();
+        for (int i = 0; i < 100; i++) {
+            JsonObject expected = new JsonObject().put("id", (long) i).put("name", "blåbær " + i);
+            String json = expected.toJson();
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+            assertThat(parser.parse(json)).isEqualTo(expected);
+            assertThat(parser.parseToObject(bytes)).isEqualTo(expected);
+            assertThat(parser.parse(new StringReader(json))).isEqualTo(expected);
+            assertThat(parser.parse(new ByteArrayInputStream(bytes))).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void shouldRecoverAfterSyntaxError() {
+        ReusableJsonParser parser = ReusableJsonParser.forCurrentThread();
+        assertThatThrownBy(() -> parser.parse("{\"unclosed\":[1,2"))
+            .isInstanceOf(JsonParseException.class);
+        assertThatThrownBy(() -> parser.parse("[1,".getBytes()))
+            .isInstanceOf(JsonParseException.class);
+
+        assertThat(parser.parse("[1]")).isEqualTo(new JsonArray().add(1L));
+        assertThat(parser.parse(" [2,3] ".getBytes(), 1, 5)).isEqualTo(new JsonArray().add(2L).add(3L));
+        assertThat(ReusableJsonParser.forCurrentThread()).isSameAs(parser);
+    }
+
+    @Test
+    public void shouldReadLongStringsInWindows() {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            value.append((char) ('a' + i % 26));
+        }
+        String json = new JsonArray().add(value.toString()).toJson();
+        assertThat(new ReusableJsonParser().parse(json)).isEqualTo(JsonParser.parse(new StringReader(json)));
+    }
+}
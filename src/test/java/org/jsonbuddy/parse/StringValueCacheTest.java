@@ -0,0 +1,37 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.jsonbuddy.JsonArray;
+import org.junit.Test;
+
+public class StringValueCacheTest {
+
+    @Test
+    public void shouldShareRepeatedStringValues() {
+        StringValueCache cache = new StringValueCache(64);
+        ParserOptions options = new ParserOptions().withStringValueCache(cache);
+        JsonArray array = (JsonArray) JsonParser.parse(
+                fixQuotes("[{'status':'ACTIVE','currency':'EUR'},{'status':'ACTIVE','currency':'NOK'}]"), options);
+
+        assertThat(array.requiredObject(1).value("status").get())
+            .isSameAs(array.requiredObject(0).value("status").get());
+        assertThat(array.requiredObject(1).requiredString("currency")).isEqualTo("NOK");
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void shouldNotCacheLongValues() {
+        StringValueCache cache = new StringValueCache(64, 4);
+        JsonArray array = (JsonArray) JsonParser.parse(fixQuotes("['longer','longer']").getBytes(),
+                new ParserOptions().withStringValueCache(cache));
+
+        assertThat(array.requiredString(0)).isEqualTo(array.requiredString(1));
+        assertThat(cache.hitCount() + cache.missCount()).isZero();
+    }
+
+    private static String fixQuotes(String s) {
+        return s.replace("'", "\"");
+    }
+}
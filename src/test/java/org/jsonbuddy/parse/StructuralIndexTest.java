@@ -0,0 +1,80 @@
+package org.jsonbuddy.parse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+
+import org.jsonbuddy.JsonObject;
+import org.junit.Test;
+
+public class StructuralIndexTest {
+
+    @Test
+    public void shouldReadLazyObject() {
+        String json = fixQuotes("{'name':'blåbær', 'count': 42, 'nested': {'list':[1, {'a':true}, null]},"
+                + " 'esc\\u0061ped':'x', 'dup':1, 'dup':2, 'broken':[1 2]}");
+        JsonObject lazy = (JsonObject) JsonParser.parseLazy(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(lazy.requiredString("name")).isEqualTo("blåbær");
+        assertThat(lazy.requiredLong("count")).isEqualTo(42);
+        assertThat(lazy.requiredObject("nested").requiredArray("list").requiredObject(1).requiredBoolean("a")).isTrue();
+        assertThat(lazy.requiredString("escaped")).isEqualTo("x");
+        assertThat(lazy.requiredLong("dup")).isEqualTo(2);
+        assertThat(lazy.stringValue("missing")).isEmpty();
+        assertThat(lazy.containsKey("nested")).isTrue();
+        assertThat(lazy.keys()).containsExactly("name", "count", "nested", "escaped", "dup", "broken");
+        assertThatThrownBy(() -> lazy.requiredArray("broken").requiredLong(0))
+            .isInstanceOf(JsonParseException.class).hasMessage("Expected , or ] in array");
+    }
+
+    @Test
+    public void shouldCompareKeysWithoutDecoding() {
+        String json = fixQuotes("{'blåbær':1, 'tab\\there':2, '\\u00e6\\/':3, '😀':4, '\\uD83D\\uDE01':5, 'ab':6}");
+        JsonObject lazy = (JsonObject) JsonParser.parseLazy(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(lazy.requiredLong("blåbær")).isEqualTo(1);
+        assertThat(lazy.requiredLong("tab\there")).isEqualTo(2);
+        assertThat(lazy.requiredLong("æ/")).isEqualTo(3);
+        assertThat(lazy.requiredLong("😀")).isEqualTo(4);
+        assertThat(lazy.requiredLong("😁")).isEqualTo(5);
+        assertThat(lazy.containsKey("a")).isFalse();
+        assertThat(lazy.containsKey("abc")).isFalse();
+        assertThat(lazy.containsKey("blåbæ")).isFalse();
+        assertThat(lazy.containsKey("\uD83D")).isFalse();
+
+        byte[] malformed = fixQuotes("{'aÿ':1}").getBytes(StandardCharsets.ISO_8859_1);
+        assertThat(((JsonObject) JsonParser.parseLazy(malformed)).requiredLong("a�")).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldMaterializeLazyNodes() {
+        String json = fixQuotes("{'name':'value', 'list':[1, 'two', {'three':3}], 'empty':{}}");
+        JsonObject lazy = (JsonObject) JsonParser.parseLazy(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(lazy).isEqualTo(JsonParser.parse(json));
+        assertThat(lazy.toJson()).isEqualTo(JsonParser.parse(json).toJson());
+
+        lazy.requiredArray("list").add("four");
+        lazy.put("name", "changed").remove("empty");
+        assertThat(lazy.toJson()).isEqualTo(fixQuotes("{'name':'changed','list':[1,'two',{'three':3},'four']}"));
+    }
+
+    @Test
+    public void shouldReportLazyStructureErrors() {
+        assertThatThrownBy(() -> JsonParser.parseLazy(fixQuotes("{'a':1").getBytes()))
+            .isInstanceOf(JsonParseException.class).hasMessage("JsonObject not closed. Expected }");
+        assertThatThrownBy(() -> JsonParser.parseLazy(fixQuotes("{'a' 1}").getBytes()))
+            .isInstanceOf(JsonParseException.class).hasMessage("Expected value for objectkey a");
+        assertThatThrownBy(() -> JsonParser.parseLazy(fixQuotes("{'a':{} 1}").getBytes()))
+            .isInstanceOf(JsonParseException.class).hasMessage("JsonObject not closed. Expected }");
+        assertThatThrownBy(() -> JsonParser.parseLazy("[1}".getBytes()))
+            .isInstanceOf(JsonParseException.class).hasMessage("Expected , or ] in array");
+        assertThat(JsonParser.parseLazy(" 12 ".getBytes())).isEqualTo(JsonParser.parse("12"));
+        assertThat(JsonParser.parseLazy("  ".getBytes())).isNull();
+    }
+
+    private static String fixQuotes(String s) {
+        return s.replace("'", "\"");
+    }
+}